@@ -1,13 +1,16 @@
 use aws_sdk_cognitoidentityprovider::Client as CognitoClient;
 use aws_sdk_dynamodb::types::AttributeValue;
 use aws_sdk_dynamodb::Client as DynamoDbClient;
+use futures::future::try_join_all;
 use lambda_aws_clients::{cognito, dynamodb};
 use lambda_common::{Error, Result};
+use lambda_http::request::RequestContext;
 use lambda_http::{run, service_fn, Body, Request, RequestExt, Response};
 use lambda_observability::{init_logging, logging::invocation_span};
 use serde::{Deserialize, Serialize};
 use std::collections::HashMap;
 use std::env;
+use std::time::Duration;
 use tracing::{error, info};
 
 /// User model matching Java implementation
@@ -48,6 +51,18 @@ struct Verification {
     status: String,
 }
 
+#[derive(Debug, Deserialize)]
+struct BatchUserRequest {
+    ids: Vec<String>,
+}
+
+/// Cognito group whose members may bulk-read other users' records
+const ADMIN_GROUP: &str = "admin";
+const BATCH_GET_SIZE: usize = 100;
+const BATCH_GET_ATTEMPTS: u32 = 8;
+const BATCH_GET_BACKOFF_MILLIS: u64 = 25;
+const BATCH_GET_BACKOFF_CAP_MILLIS: u64 = 1000;
+
 #[derive(Debug, Deserialize)]
 #[serde(rename_all = "camelCase")]
 struct UpdateUserRequest {
@@ -66,6 +81,12 @@ async fn function_handler(event: Request) -> Result<Response<Body>> {
     let path = event.uri().path();
     let path_params = event.path_parameters();
 
+    if method == "POST" && path.ends_with("/users/batch") {
+        info!("Request: {} {}", method, path);
+        let dynamo_client = dynamodb::client().await;
+        return handle_batch_get_users(&dynamo_client, &event).await;
+    }
+
     let user_id = path_params
         .first("user")
         .ok_or_else(|| Error::InvalidInput("Missing user parameter".to_string()))?;
@@ -86,6 +107,15 @@ async fn function_handler(event: Request) -> Result<Response<Body>> {
                 .map_err(|e| Error::InvalidInput(format!("Invalid JSON: {}", e)))?;
             handle_update_user(&dynamo_client, user_id, update_request).await
         }
+        ("PATCH", false) => {
+            let body = event.body();
+            let body_str = std::str::from_utf8(body).map_err(|e| {
+                Error::InvalidInput(format!("Invalid UTF-8 in request body: {}", e))
+            })?;
+            let patch: serde_json::Value = serde_json::from_str(body_str)
+                .map_err(|e| Error::InvalidInput(format!("Invalid JSON: {}", e)))?;
+            handle_patch_user(&dynamo_client, user_id, &patch).await
+        }
         ("DELETE", true) => handle_delete_user(&dynamo_client, &cognito_client, user_id).await,
         _ => {
             error!("Invalid request: {} {}", method, path);
@@ -134,6 +164,151 @@ async fn handle_get_user(client: &DynamoDbClient, user_id: &str) -> Result<Respo
     }
 }
 
+async fn handle_batch_get_users(client: &DynamoDbClient, event: &Request) -> Result<Response<Body>> {
+    let table_name = env::var("DYNAMODB_USER_TABLE")
+        .map_err(|_| Error::Configuration("DYNAMODB_USER_TABLE not set".to_string()))?;
+    let max_ids = env::var("USER_BATCH_MAX_IDS")
+        .ok()
+        .and_then(|v| v.parse::<usize>().ok())
+        .unwrap_or(500);
+
+    if !caller_groups(event).iter().any(|group| group == ADMIN_GROUP) {
+        error!("Batch read rejected, caller not in {} group", ADMIN_GROUP);
+        return Ok(Response::builder()
+            .status(403)
+            .header("Content-Type", "application/json")
+            .body(Body::from(r#"{"error":"Forbidden"}"#))
+            .unwrap());
+    }
+
+    let request: Option<BatchUserRequest> = std::str::from_utf8(event.body())
+        .ok()
+        .and_then(|body| serde_json::from_str(body).ok());
+    let ids = match request {
+        Some(request) if !request.ids.is_empty() && request.ids.len() <= max_ids => request.ids,
+        _ => {
+            error!("Batch read rejected, invalid ids");
+            return Ok(Response::builder()
+                .status(400)
+                .header("Content-Type", "application/json")
+                .body(Body::from(r#"{"error":"Invalid ids"}"#))
+                .unwrap());
+        }
+    };
+
+    info!("Batch reading users: {}", ids.len());
+
+    let mut unique = ids.clone();
+    unique.sort();
+    unique.dedup();
+
+    // chunks run concurrently, like UserClient.batch on the Java side
+    let chunks = try_join_all(
+        unique
+            .chunks(BATCH_GET_SIZE)
+            .map(|chunk| batch_get_chunk(client, &table_name, chunk)),
+    )
+    .await?;
+
+    let mut found = HashMap::new();
+    for user in chunks.into_iter().flatten() {
+        found.insert(user.id.clone(), serde_json::to_value(&user)?);
+    }
+
+    let users: Vec<serde_json::Value> = ids
+        .iter()
+        .map(|id| found.get(id).cloned().unwrap_or(serde_json::Value::Null))
+        .collect();
+    let body = serde_json::to_string(&users)?;
+
+    info!("Successfully batch read users: {}", found.len());
+
+    Ok(Response::builder()
+        .status(200)
+        .header("Content-Type", "application/json")
+        .body(Body::from(body))
+        .unwrap())
+}
+
+/// Reads one BatchGetItem chunk, retrying UnprocessedKeys with capped exponential backoff and full jitter
+async fn batch_get_chunk(client: &DynamoDbClient, table_name: &str, chunk: &[String]) -> Result<Vec<User>> {
+    let mut keys: Vec<HashMap<String, AttributeValue>> = chunk
+        .iter()
+        .map(|id| HashMap::from([("id".to_string(), AttributeValue::S(id.clone()))]))
+        .collect();
+
+    let mut users = Vec::with_capacity(chunk.len());
+    let mut attempt = 0;
+    while !keys.is_empty() {
+        if attempt >= BATCH_GET_ATTEMPTS {
+            return Err(Error::AwsSdk(format!(
+                "Unprocessed keys after {} attempts",
+                BATCH_GET_ATTEMPTS
+            )));
+        }
+        if attempt > 0 {
+            let cap = (BATCH_GET_BACKOFF_MILLIS << (attempt - 1)).min(BATCH_GET_BACKOFF_CAP_MILLIS);
+            tokio::time::sleep(Duration::from_millis(fastrand::u64(0..=cap))).await;
+        }
+
+        let request = aws_sdk_dynamodb::types::KeysAndAttributes::builder()
+            .set_keys(Some(keys))
+            .consistent_read(true)
+            .build()
+            .map_err(|e| Error::AwsSdk(format!("Invalid batch keys: {:?}", e)))?;
+
+        let mut output = client
+            .batch_get_item()
+            .request_items(table_name, request)
+            .send()
+            .await
+            .map_err(|e| Error::AwsSdk(format!("Failed to batch get users: {:?}", e)))?;
+
+        for item in output
+            .responses
+            .as_mut()
+            .and_then(|responses| responses.remove(table_name))
+            .unwrap_or_default()
+        {
+            users.push(parse_user_from_dynamodb(item)?);
+        }
+
+        keys = output
+            .unprocessed_keys
+            .as_mut()
+            .and_then(|unprocessed| unprocessed.remove(table_name))
+            .map(|unprocessed| unprocessed.keys)
+            .unwrap_or_default();
+        attempt += 1;
+    }
+
+    Ok(users)
+}
+
+/// Groups from the Cognito authorizer claims, which API Gateway flattens to "[admin, free]" or "admin,free"
+fn caller_groups(event: &Request) -> Vec<String> {
+    let claim = match event.request_context_ref() {
+        Some(RequestContext::ApiGatewayV1(context)) => context
+            .authorizer
+            .fields
+            .get("claims")
+            .and_then(|claims| claims.get("cognito:groups"))
+            .and_then(|groups| groups.as_str())
+            .map(str::to_string),
+        _ => None,
+    };
+
+    parse_groups(claim.as_deref().unwrap_or_default())
+}
+
+fn parse_groups(claim: &str) -> Vec<String> {
+    claim
+        .split(|c: char| c == ',' || c == '[' || c == ']' || c.is_whitespace())
+        .filter(|group| !group.is_empty())
+        .map(str::to_string)
+        .collect()
+}
+
 async fn handle_update_user(
     client: &DynamoDbClient,
     user_id: &str,
@@ -185,6 +360,237 @@ async fn handle_update_user(
     }
 }
 
+/// Fields a merge patch may touch, mirroring the Java `PatchExpression` schema
+enum PatchKind {
+    String,
+    NullableString,
+    Boolean,
+    Subscription,
+    Object(&'static [(&'static str, PatchKind)]),
+}
+
+const MFA_SCHEMA: &[(&str, PatchKind)] = &[
+    ("enabled", PatchKind::Boolean),
+    ("configured", PatchKind::Boolean),
+];
+
+const SETTINGS_SCHEMA: &[(&str, PatchKind)] = &[
+    ("theme", PatchKind::String),
+    ("subscription", PatchKind::Subscription),
+    ("mfa", PatchKind::Object(MFA_SCHEMA)),
+];
+
+const PATCH_SCHEMA: &[(&str, PatchKind)] = &[
+    ("phone", PatchKind::NullableString),
+    ("username", PatchKind::String),
+    ("settings", PatchKind::Object(SETTINGS_SCHEMA)),
+];
+
+const SUBSCRIPTIONS: &[&str] = &["FREE", "STARTUP", "ENTERPRISE"];
+
+/// RFC 7396 merge patch compiled to a DynamoDB update expression
+#[derive(Debug, Default)]
+struct PatchExpression {
+    sets: Vec<String>,
+    removes: Vec<String>,
+    names: HashMap<String, String>,
+    values: HashMap<String, AttributeValue>,
+}
+
+impl PatchExpression {
+    fn compile(patch: &serde_json::Value, updated: &str) -> Result<Self> {
+        let patch = patch
+            .as_object()
+            .ok_or_else(|| Error::InvalidInput("merge patch must be a json object".to_string()))?;
+
+        let mut compiled = PatchExpression::default();
+        compiled.walk(patch, PATCH_SCHEMA, &[])?;
+        if !compiled.is_empty() {
+            compiled.set(&["updated"], AttributeValue::S(updated.to_string()));
+        }
+        Ok(compiled)
+    }
+
+    fn walk(
+        &mut self,
+        patch: &serde_json::Map<String, serde_json::Value>,
+        schema: &[(&'static str, PatchKind)],
+        parent: &[&'static str],
+    ) -> Result<()> {
+        for (name, value) in patch {
+            let (field, kind) = schema
+                .iter()
+                .find(|(field, _)| *field == name.as_str())
+                .ok_or_else(|| Error::InvalidInput(format!("unknown field {}", name)))?;
+
+            let mut path = parent.to_vec();
+            path.push(*field);
+
+            match kind {
+                PatchKind::Object(nested) => {
+                    let nested_patch = value.as_object().ok_or_else(|| {
+                        Error::InvalidInput(format!("{} must be a json object", name))
+                    })?;
+                    self.walk(nested_patch, nested, &path)?;
+                }
+                _ if value.is_null() => {
+                    if !matches!(kind, PatchKind::NullableString) {
+                        return Err(Error::InvalidInput(format!("{} cannot be removed", name)));
+                    }
+                    let reference = self.reference(&path);
+                    self.removes.push(reference);
+                }
+                _ => {
+                    let attribute = patch_attribute(name, kind, value)?;
+                    self.set(&path, attribute);
+                }
+            }
+        }
+        Ok(())
+    }
+
+    fn set(&mut self, path: &[&str], value: AttributeValue) {
+        let placeholder = format!(":v{}", self.values.len());
+        let reference = self.reference(path);
+        self.sets.push(format!("{} = {}", reference, placeholder));
+        self.values.insert(placeholder, value);
+    }
+
+    // only names that end up in a SET or REMOVE clause are registered, DynamoDB rejects unused ones
+    fn reference(&mut self, path: &[&str]) -> String {
+        path.iter()
+            .map(|name| {
+                self.names.insert(format!("#{}", name), name.to_string());
+                format!("#{}", name)
+            })
+            .collect::<Vec<_>>()
+            .join(".")
+    }
+
+    fn is_empty(&self) -> bool {
+        self.sets.is_empty() && self.removes.is_empty()
+    }
+
+    fn update_expression(&self) -> String {
+        let mut expression = format!("SET {}", self.sets.join(", "));
+        if !self.removes.is_empty() {
+            expression.push_str(&format!(" REMOVE {}", self.removes.join(", ")));
+        }
+        expression
+    }
+}
+
+fn patch_attribute(name: &str, kind: &PatchKind, value: &serde_json::Value) -> Result<AttributeValue> {
+    let attribute = match kind {
+        PatchKind::String | PatchKind::NullableString => {
+            value.as_str().map(|s| AttributeValue::S(s.to_string()))
+        }
+        PatchKind::Boolean => value.as_bool().map(AttributeValue::Bool),
+        PatchKind::Subscription => value
+            .as_str()
+            .filter(|s| SUBSCRIPTIONS.contains(s))
+            .map(|s| AttributeValue::S(s.to_string())),
+        PatchKind::Object(_) => None,
+    };
+
+    attribute.ok_or_else(|| Error::InvalidInput(format!("invalid value for {}", name)))
+}
+
+async fn handle_patch_user(
+    client: &DynamoDbClient,
+    user_id: &str,
+    patch: &serde_json::Value,
+) -> Result<Response<Body>> {
+    let table_name = env::var("DYNAMODB_USER_TABLE")
+        .map_err(|_| Error::Configuration("DYNAMODB_USER_TABLE not set".to_string()))?;
+
+    let updated = chrono::Utc::now().to_rfc3339();
+    let expression = match PatchExpression::compile(patch, &updated) {
+        Ok(expression) => expression,
+        Err(e) => {
+            error!("Invalid merge patch for user {}: {:?}", user_id, e);
+            return Ok(Response::builder()
+                .status(400)
+                .header("Content-Type", "application/json")
+                .body(Body::from(r#"{"error":"Invalid merge patch"}"#))
+                .unwrap());
+        }
+    };
+
+    if expression.is_empty() {
+        info!("Empty merge patch, returning user unchanged: {}", user_id);
+        return handle_get_user(client, user_id).await;
+    }
+
+    info!("Patching user: {}", user_id);
+
+    let result = client
+        .update_item()
+        .table_name(table_name)
+        .key("id", AttributeValue::S(user_id.to_string()))
+        .condition_expression("attribute_exists(id)")
+        .update_expression(expression.update_expression())
+        .set_expression_attribute_names(Some(expression.names))
+        .set_expression_attribute_values(Some(expression.values))
+        .return_values(aws_sdk_dynamodb::types::ReturnValue::UpdatedNew)
+        .send()
+        .await;
+
+    match result {
+        Ok(output) => {
+            let attributes = output.attributes.unwrap_or_default();
+            let body = serde_json::to_string(&attributes_to_json(&attributes))?;
+
+            info!("Successfully patched user: {}", user_id);
+
+            Ok(Response::builder()
+                .status(200)
+                .header("Content-Type", "application/json")
+                .body(Body::from(body))
+                .unwrap())
+        }
+        Err(e)
+            if e.as_service_error()
+                .map(|e| e.is_conditional_check_failed_exception())
+                .unwrap_or(false) =>
+        {
+            error!("User not found: {}", user_id);
+            Ok(Response::builder()
+                .status(404)
+                .header("Content-Type", "application/json")
+                .body(Body::from(r#"{"error":"User not found"}"#))
+                .unwrap())
+        }
+        Err(e) => Err(Error::AwsSdk(format!("Failed to patch user: {:?}", e))),
+    }
+}
+
+fn attributes_to_json(attributes: &HashMap<String, AttributeValue>) -> serde_json::Value {
+    serde_json::Value::Object(
+        attributes
+            .iter()
+            .map(|(name, value)| (name.clone(), attribute_to_json(value)))
+            .collect(),
+    )
+}
+
+fn attribute_to_json(value: &AttributeValue) -> serde_json::Value {
+    match value {
+        AttributeValue::S(s) => serde_json::Value::String(s.clone()),
+        AttributeValue::N(n) => n
+            .parse::<serde_json::Number>()
+            .map(serde_json::Value::Number)
+            .unwrap_or_else(|_| serde_json::Value::String(n.clone())),
+        AttributeValue::Bool(b) => serde_json::Value::Bool(*b),
+        AttributeValue::M(m) => attributes_to_json(m),
+        AttributeValue::L(l) => serde_json::Value::Array(l.iter().map(attribute_to_json).collect()),
+        AttributeValue::Ss(ss) => serde_json::Value::Array(
+            ss.iter().cloned().map(serde_json::Value::String).collect(),
+        ),
+        _ => serde_json::Value::Null,
+    }
+}
+
 async fn handle_delete_user(
     dynamo_client: &DynamoDbClient,
     cognito_client: &CognitoClient,
@@ -410,4 +816,40 @@ mod tests {
         let av = settings_to_attribute_value(&settings);
         assert!(av.as_m().is_ok());
     }
+
+    #[test]
+    fn test_parse_groups() {
+        assert_eq!(parse_groups("[admin, free]"), vec!["admin", "free"]);
+        assert_eq!(parse_groups("admin,free"), vec!["admin", "free"]);
+        assert!(parse_groups("").is_empty());
+    }
+
+    #[test]
+    fn test_patch_registers_only_used_names() {
+        let patch = serde_json::json!({"phone": null, "settings": {"theme": "dark", "mfa": {}}});
+        let expression = PatchExpression::compile(&patch, "2026-01-01T00:00:00Z").unwrap();
+
+        assert_eq!(
+            expression.update_expression(),
+            "SET #settings.#theme = :v0, #updated = :v1 REMOVE #phone"
+        );
+        assert_eq!(expression.names.len(), 4);
+        assert!(!expression.names.contains_key("#mfa"));
+    }
+
+    #[test]
+    fn test_empty_patch_is_a_no_op() {
+        let patch = serde_json::json!({"settings": {"mfa": {}}});
+        assert!(PatchExpression::compile(&patch, "2026-01-01T00:00:00Z")
+            .unwrap()
+            .is_empty());
+    }
+
+    #[test]
+    fn test_patch_rejects_unknown_fields() {
+        let patch = serde_json::json!({"settings": {"colour": "red"}});
+        assert!(PatchExpression::compile(&patch, "2026-01-01T00:00:00Z").is_err());
+        let patch = serde_json::json!({"username": null});
+        assert!(PatchExpression::compile(&patch, "2026-01-01T00:00:00Z").is_err());
+    }
 }
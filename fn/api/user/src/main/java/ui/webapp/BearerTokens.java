@@ -0,0 +1,144 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// verifies cognito bearer tokens for the server, the check api gateway's cognito authorizer makes for the lambda
+public class BearerTokens {
+  private static final Logger log = Logging.handler();
+  private static final Set<String> TOKEN_USES = Set.of("id", "access");
+  private static final Duration REFETCH_AFTER = Duration.ofMinutes(1);
+
+  private final ObjectMapper mapper;
+  private final String issuer;
+  private final Supplier<Map<String, PublicKey>> jwks;
+  private final Clock clock;
+  private volatile Map<String, PublicKey> keys = Map.of();
+  private volatile long fetched = Long.MIN_VALUE;
+
+  public record Claims(String issuer, Set<String> groups) {}
+
+  BearerTokens(ObjectMapper mapper, String issuer, Supplier<Map<String, PublicKey>> jwks, Clock clock) {
+    this.mapper = mapper;
+    this.issuer = issuer;
+    this.jwks = jwks;
+    this.clock = clock;
+  }
+
+  public static BearerTokens cognito(ObjectMapper mapper, String userPoolId) {
+    var region = userPoolId.substring(0, userPoolId.indexOf('_'));
+    var issuer = "https://cognito-idp." + region + ".amazonaws.com/" + userPoolId;
+    var http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    return new BearerTokens(mapper, issuer, () -> fetch(http, mapper, URI.create(issuer + "/.well-known/jwks.json")), Clock.systemUTC());
+  }
+
+  public Optional<Claims> verify(String authorization) {
+    if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7))
+      return Optional.empty();
+
+    var token = authorization.substring(7).trim();
+    var parts = token.split("\\.");
+    if (parts.length != 3)
+      return Optional.empty();
+
+    try {
+      var header = decode(parts[0]);
+      var payload = decode(parts[1]);
+      if (!"RS256".equals(header.path("alg").textValue()))
+        return Optional.empty();
+
+      var key = key(header.path("kid").textValue());
+      if (key == null)
+        return Optional.empty();
+
+      var signature = Signature.getInstance("SHA256withRSA");
+      signature.initVerify(key);
+      signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+      if (!signature.verify(Base64.getUrlDecoder().decode(parts[2])))
+        return Optional.empty();
+
+      if (!issuer.equals(payload.path("iss").textValue())
+        || !TOKEN_USES.contains(payload.path("token_use").textValue())
+        || payload.path("exp").asLong(0) <= clock.instant().getEpochSecond())
+        return Optional.empty();
+
+      var groups = new HashSet<String>();
+      payload.path("cognito:groups").forEach(group -> groups.add(group.asText()));
+      return Optional.of(new Claims(issuer, Set.copyOf(groups)));
+    } catch (IOException | GeneralSecurityException | IllegalArgumentException | IllegalStateException e) {
+      log.warn("bearer token not ok {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  // cognito rotates signing keys rarely, an unknown kid refetches the set at most once a minute
+  private PublicKey key(String kid) {
+    if (kid == null)
+      return null;
+
+    var key = keys.get(kid);
+    if (key != null)
+      return key;
+
+    synchronized (this) {
+      var now = clock.millis();
+      if (fetched == Long.MIN_VALUE || now - fetched >= REFETCH_AFTER.toMillis()) {
+        fetched = now;
+        keys = jwks.get();
+      }
+    }
+    return keys.get(kid);
+  }
+
+  private JsonNode decode(String part) throws IOException {
+    return mapper.readTree(Base64.getUrlDecoder().decode(part));
+  }
+
+  private static Map<String, PublicKey> fetch(HttpClient http, ObjectMapper mapper, URI uri) {
+    try {
+      var response = http.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.ofByteArray());
+      if (response.statusCode() != 200)
+        throw new IllegalStateException("jwks " + uri + " answered " + response.statusCode());
+
+      var factory = KeyFactory.getInstance("RSA");
+      var keys = new HashMap<String, PublicKey>();
+      for (var jwk : mapper.readTree(response.body()).path("keys")) {
+        if (!"RSA".equals(jwk.path("kty").textValue()))
+          continue;
+
+        var modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").textValue()));
+        var exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").textValue()));
+        keys.put(jwk.path("kid").textValue(), factory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+      }
+      return Map.copyOf(keys);
+    } catch (IOException | GeneralSecurityException e) {
+      throw new IllegalStateException("error fetching jwks " + uri, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted fetching jwks " + uri, e);
+    }
+  }
+}
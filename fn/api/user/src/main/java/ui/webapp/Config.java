@@ -0,0 +1,70 @@
+package ui.webapp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+public record Config(
+  String userTable,
+  String userPoolId,
+  String userPoolName,
+  Duration userPoolCacheTtl,
+  Duration userPoolNegativeCacheTtl,
+  long userCacheMaxSize,
+  Duration userCacheTtl,
+  long batchMaxIds,
+  Duration readAttemptTimeout,
+  Duration readTimeout,
+  long purgeCognitoRps,
+  String serverHost,
+  int serverPort,
+  int serverMaxInFlight) {
+
+  public Config {
+    var invalid = new ArrayList<String>();
+    if (userTable == null || userTable.isBlank())
+      invalid.add(Env.DYNAMODB_USER_TABLE + " is required");
+    if (userPoolId == null && userPoolName == null)
+      invalid.add(Env.USER_POOL_ID + " or " + Env.USER_POOL_NAME + " is required");
+    if (!userPoolCacheTtl.isPositive())
+      invalid.add(Env.USER_POOL_CACHE_TTL_SECONDS + " must be positive");
+    if (!userPoolNegativeCacheTtl.isPositive())
+      invalid.add(Env.USER_POOL_NEGATIVE_CACHE_TTL_SECONDS + " must be positive");
+    if (userCacheMaxSize < 0)
+      invalid.add(Env.USER_CACHE_MAX_SIZE + " must not be negative");
+    if (userCacheTtl.isNegative())
+      invalid.add(Env.USER_CACHE_TTL_SECONDS + " must not be negative");
+    if (batchMaxIds < 1)
+      invalid.add(Env.USER_BATCH_MAX_IDS + " must be positive");
+    if (!readAttemptTimeout.isPositive() || readAttemptTimeout.compareTo(readTimeout) > 0)
+      invalid.add(Env.USER_READ_ATTEMPT_TIMEOUT_MILLIS + " must be positive and at most " + Env.USER_READ_TIMEOUT_MILLIS);
+    if (purgeCognitoRps < 1)
+      invalid.add(Env.PURGE_COGNITO_RPS + " must be positive");
+    if (serverHost == null || serverHost.isBlank())
+      invalid.add(Env.SERVER_HOST + " is required");
+    if (serverPort < 0 || serverPort > 65535)
+      invalid.add(Env.SERVER_PORT + " must be a port");
+    if (serverMaxInFlight < 1)
+      invalid.add(Env.SERVER_MAX_IN_FLIGHT + " must be positive");
+
+    if (!invalid.isEmpty())
+      throw new IllegalStateException("invalid configuration " + invalid);
+  }
+
+  public static Config load() {
+    return new Config(
+      EnvUtil.string(Env.DYNAMODB_USER_TABLE, null),
+      EnvUtil.string(Env.USER_POOL_ID, null),
+      EnvUtil.string(Env.USER_POOL_NAME, null),
+      Duration.ofSeconds(EnvUtil.number(Env.USER_POOL_CACHE_TTL_SECONDS, 3600)),
+      Duration.ofSeconds(EnvUtil.number(Env.USER_POOL_NEGATIVE_CACHE_TTL_SECONDS, 30)),
+      EnvUtil.number(Env.USER_CACHE_MAX_SIZE, 1024),
+      Duration.ofSeconds(EnvUtil.number(Env.USER_CACHE_TTL_SECONDS, 10)),
+      EnvUtil.number(Env.USER_BATCH_MAX_IDS, 500),
+      Duration.ofMillis(EnvUtil.number(Env.USER_READ_ATTEMPT_TIMEOUT_MILLIS, 1000)),
+      Duration.ofMillis(EnvUtil.number(Env.USER_READ_TIMEOUT_MILLIS, 3000)),
+      EnvUtil.number(Env.PURGE_COGNITO_RPS, 20),
+      EnvUtil.string(Env.SERVER_HOST, "127.0.0.1"),
+      (int) EnvUtil.number(Env.SERVER_PORT, 8080),
+      (int) EnvUtil.number(Env.SERVER_MAX_IN_FLIGHT, 256));
+  }
+}
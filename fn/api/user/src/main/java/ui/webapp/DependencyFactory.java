@@ -1,31 +1,77 @@
 package ui.webapp;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
-import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.execute.UserPoolResolver;
+import ui.webapp.model.request.UserJsonModule;
 
 public class DependencyFactory {
 
-  private static final CognitoIdentityProviderAsyncClient COGNITO_CLIENT = CognitoIdentityProviderAsyncClient.builder()
-    .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
-    .region(Region.of(System.getenv("AWS_DEFAULT_REGION")))
-    .httpClientBuilder(AwsCrtAsyncHttpClient.builder())
-    .build();
+  private static final Config CONFIG = Lazy.time("config", Config::load);
+
+  private static final Lazy<ObjectMapper> OBJECT_MAPPER = Lazy.of("object-mapper", () -> SharedDependencyFactory.objectMapper(new UserJsonModule()));
+
+  private static final Lazy<DynamoDbAsyncClient> DYNAMODB = Lazy.of("dynamodb", SharedDependencyFactory::dynamoDbAsyncClient);
+
+  private static final Lazy<CognitoIdentityProviderAsyncClient> COGNITO = Lazy.of("cognito-idp", ClientRegistry::cognito);
+
+  private static final Lazy<UserPoolResolver> USER_POOL_RESOLVER = Lazy.of("user-pool-resolver", () -> new UserPoolResolver(
+    COGNITO,
+    CONFIG.userPoolId(),
+    CONFIG.userPoolName(),
+    CONFIG.userPoolCacheTtl(),
+    CONFIG.userPoolNegativeCacheTtl()));
+
+  private static final Lazy<UserCache> USER_CACHE = Lazy.of("user-cache", () -> new UserCache(CONFIG.userCacheMaxSize(), CONFIG.userCacheTtl()));
+
+  private static final Lazy<Orchestrate> ORCHESTRATE = Lazy.of("orchestrate", () -> new Orchestrate(
+    objectMapper(),
+    new UserClient(
+      dynamoDbClient(),
+      COGNITO,
+      userPoolResolver(),
+      userCache(),
+      new Hedge(CONFIG.readAttemptTimeout(), CONFIG.readTimeout()),
+      CONFIG.userTable()),
+    ApiDependencyFactory.profanityFilter(),
+    CONFIG.batchMaxIds()));
 
   private DependencyFactory() {}
 
+  public static Config config() {
+    return CONFIG;
+  }
+
   public static ObjectMapper objectMapper() {
-    return SharedDependencyFactory.objectMapper();
+    return OBJECT_MAPPER.get();
   }
 
   public static DynamoDbAsyncClient dynamoDbClient() {
-    return SharedDependencyFactory.dynamoDbAsyncClient();
+    return DYNAMODB.get();
   }
 
   public static CognitoIdentityProviderAsyncClient cognitoIdentityClient() {
-    return COGNITO_CLIENT;
+    return COGNITO.get();
+  }
+
+  public static Lazy<CognitoIdentityProviderAsyncClient> cognito() {
+    return COGNITO;
+  }
+
+  public static UserPoolResolver userPoolResolver() {
+    return USER_POOL_RESOLVER.get();
+  }
+
+  public static UserCache userCache() {
+    return USER_CACHE.get();
+  }
+
+  public static Orchestrate orchestrate() {
+    return ORCHESTRATE.get();
   }
 }
@@ -1,5 +1,7 @@
 package ui.webapp;
 
 public enum Env {
-  DYNAMODB_USER_TABLE, USER_POOL_NAME
+  DYNAMODB_USER_TABLE, USER_POOL_NAME, USER_POOL_ID, USER_POOL_CACHE_TTL_SECONDS, USER_POOL_NEGATIVE_CACHE_TTL_SECONDS,
+  USER_CACHE_MAX_SIZE, USER_CACHE_TTL_SECONDS, USER_BATCH_MAX_IDS, USER_READ_ATTEMPT_TIMEOUT_MILLIS, USER_READ_TIMEOUT_MILLIS,
+  PURGE_COGNITO_RPS, SERVER_HOST, SERVER_PORT, SERVER_MAX_IN_FLIGHT
 }
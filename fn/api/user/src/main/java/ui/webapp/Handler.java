@@ -7,28 +7,38 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
-import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import ui.webapp.execute.Orchestrate;
+import ui.webapp.model.request.ApiRequest;
 
 public class Handler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
-  private final Logger log;
-  private final ObjectMapper mapper;
-  private final DynamoDbAsyncClient dynamoDbClient;
-  private final CognitoIdentityProviderAsyncClient cognitoClient;
+  private static final Priming PRIMING = Priming.register("user", new UserPriming(DependencyFactory.objectMapper()), UserPriming::restore);
 
-  public Handler() {
-    log = Logging.handler();
-    mapper = DependencyFactory.objectMapper();
-    dynamoDbClient = DependencyFactory.dynamoDbClient();
-    cognitoClient = DependencyFactory.cognitoIdentityClient();
-  }
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper = DependencyFactory.objectMapper();
+  private final Orchestrate orchestrate = DependencyFactory.orchestrate();
 
   @SneakyThrows
   public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent request, Context context) {
-    log.info("received user request {} {}", request, context);
-    return new Orchestrate(mapper, dynamoDbClient, cognitoClient)
-      .response(request)
-      .join();
+    Logging.begin(context);
+    Metrics.begin();
+    var apiRequest = ApiRequest.from(request);
+    var span = Tracing.begin("user", apiRequest.headers());
+    try (var scope = span.makeCurrent()) {
+      log.info("received user request {} {}", request.getHttpMethod(), request.getResource());
+      Logging.payload("user request", request, mapper);
+
+      var response = orchestrate.response(apiRequest).join();
+      Lazy.report();
+      span.setAttribute("http.response.status_code", response.statusCode());
+      return Tracing.span("json encode", () -> response.event(mapper));
+    } catch (RuntimeException e) {
+      Tracing.fail(span, e);
+      throw e;
+    } finally {
+      span.end();
+      Metrics.emit("user");
+      LatencyRecorder.snapshotIfDue();
+      Logging.end();
+    }
   }
 }
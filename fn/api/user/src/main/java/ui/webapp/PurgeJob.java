@@ -0,0 +1,45 @@
+package ui.webapp;
+
+import org.apache.logging.log4j.Logger;
+import ui.webapp.execute.PurgeCheckpoint;
+import ui.webapp.execute.PurgeUsers;
+import ui.webapp.execute.TokenBucket;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PurgeJob {
+  private static final Logger log = Logging.handler();
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("usage: PurgeJob <ids-file|-> [checkpoint-file]");
+      System.exit(2);
+    }
+
+    var checkpoint = Path.of(args.length > 1 ? args[1] : ("-".equals(args[0]) ? "purge" : args[0]) + ".checkpoint");
+    var rate = DependencyFactory.config().purgeCognitoRps();
+
+    try (var reader = "-".equals(args[0])
+      ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+      : Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+
+      var result = new PurgeUsers(
+        DependencyFactory.dynamoDbClient(),
+        DependencyFactory.cognitoIdentityClient(),
+        DependencyFactory.userPoolResolver(),
+        DependencyFactory.userCache(),
+        new TokenBucket(rate, rate),
+        new PurgeCheckpoint(checkpoint),
+        DependencyFactory.config().userTable())
+        .purge(reader.lines().iterator());
+
+      log.info("purge complete {}", result);
+      System.exit(result.failed() == 0 ? 0 : 1);
+    }
+  }
+}
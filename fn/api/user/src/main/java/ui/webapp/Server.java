@@ -0,0 +1,155 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class Server {
+  private static final Logger log = Logging.handler();
+
+  private final ObjectMapper mapper;
+  private final Orchestrate orchestrate;
+  private final BearerTokens bearerTokens;
+  private final Semaphore inFlight;
+  private final List<Template> templates;
+
+  private record Template(String resource, String[] segments) {}
+
+  public Server(ObjectMapper mapper, Orchestrate orchestrate, BearerTokens bearerTokens, int maxInFlight) {
+    this.mapper = mapper;
+    this.orchestrate = orchestrate;
+    this.bearerTokens = bearerTokens;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.templates = orchestrate.resources().stream()
+      .map(resource -> new Template(resource, resource.substring(1).split("/")))
+      .toList();
+  }
+
+  public static void main(String[] args) throws IOException {
+    var host = DependencyFactory.config().serverHost();
+    var port = DependencyFactory.config().serverPort();
+    var maxInFlight = DependencyFactory.config().serverMaxInFlight();
+    var userPoolId = DependencyFactory.userPoolResolver().resolve(null).join()
+      .orElseThrow(() -> new IllegalStateException("user pool " + Env.USER_POOL_NAME.name() + " not found"));
+    var bearerTokens = BearerTokens.cognito(DependencyFactory.objectMapper(), userPoolId);
+    var server = new Server(DependencyFactory.objectMapper(), DependencyFactory.orchestrate(), bearerTokens, maxInFlight);
+
+    // loopback unless SERVER_HOST says otherwise, there is no api gateway in front of this listener
+    var http = HttpServer.create(new InetSocketAddress(host, port), maxInFlight);
+    http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    http.createContext("/health", exchange -> {
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+    });
+    http.createContext("/", server::handle);
+    http.start();
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> http.stop(5)));
+    log.info("user api listening on {}:{} with {} max in flight", host, port, maxInFlight);
+  }
+
+  void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!inFlight.tryAcquire()) {
+        log.warn("user api shedding {} {}", exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        exchange.sendResponseHeaders(503, -1);
+        return;
+      }
+
+      // requests run concurrently here, each gets its own request id so logs and metrics stay apart
+      Logging.begin(UUID.randomUUID().toString());
+      Metrics.begin();
+      try {
+        var claims = bearerTokens.verify(exchange.getRequestHeaders().getFirst("Authorization"));
+        if (claims.isEmpty()) {
+          log.warn("user api unauthorized {} {}", exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+          exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+          exchange.sendResponseHeaders(401, -1);
+          return;
+        }
+
+        var response = orchestrate.response(request(exchange, claims.get())).join();
+        write(exchange, response);
+      } catch (Exception e) {
+        log.error("user api request not ok {} {}", exchange.getRequestURI().getPath(), e.getMessage());
+        // -1 until sendResponseHeaders has run, after that the exchange can only be closed
+        if (exchange.getResponseCode() == -1)
+          exchange.sendResponseHeaders(500, -1);
+      } finally {
+        inFlight.release();
+        Metrics.emit("user");
+        Logging.clear();
+      }
+    }
+  }
+
+  private ApiRequest request(HttpExchange exchange, BearerTokens.Claims claims) throws IOException {
+    var path = exchange.getRequestURI().getPath();
+    var segments = path.length() > 1 ? path.substring(1).split("/") : new String[0];
+
+    var headers = new HashMap<String, String>();
+    exchange.getRequestHeaders().forEach((name, values) -> {
+      if (!values.isEmpty())
+        headers.put(name, values.getFirst());
+    });
+
+    var bytes = exchange.getRequestBody().readAllBytes();
+    var body = bytes.length == 0 ? null : new String(bytes, StandardCharsets.UTF_8);
+
+    for (var template : templates) {
+      var parameters = match(template.segments(), segments);
+      if (parameters != null)
+        return new ApiRequest(exchange.getRequestMethod(), template.resource(), parameters, headers, body, claims.issuer(), claims.groups());
+    }
+
+    return new ApiRequest(exchange.getRequestMethod(), path, Map.of(), headers, body, claims.issuer(), claims.groups());
+  }
+
+  private void write(HttpExchange exchange, ApiResponse response) throws IOException {
+    response.headers().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+
+    if (response.body() == null) {
+      exchange.sendResponseHeaders(response.statusCode(), -1);
+      return;
+    }
+
+    exchange.sendResponseHeaders(response.statusCode(), 0);
+    try (var generator = mapper.getFactory().createGenerator(exchange.getResponseBody())) {
+      response.body().write(generator);
+    }
+  }
+
+  private static Map<String, String> match(String[] template, String[] segments) {
+    if (template.length != segments.length)
+      return null;
+
+    Map<String, String> parameters = Map.of();
+    for (var i = 0; i < template.length; i++) {
+      var segment = template[i];
+      if (segment.startsWith("{") && segment.endsWith("}")) {
+        if (parameters.isEmpty())
+          parameters = new HashMap<>();
+        parameters.put(segment.substring(1, segment.length() - 1), segments[i]);
+      } else if (!segment.equals(segments[i])) {
+        return null;
+      }
+    }
+
+    return parameters;
+  }
+}
@@ -0,0 +1,141 @@
+package ui.webapp;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import org.apache.logging.log4j.Logger;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class StreamHandler implements RequestStreamHandler {
+  private static final Set<String> HEADERS = Set.of("cache-control", "traceparent", "x-amzn-trace-id");
+  private static final String[] CLAIMS = {"authorizer", "claims"};
+  private static final Set<String> CLAIMED = Set.of("iss", "cognito:groups");
+  private static final Priming PRIMING = Priming.register("user-stream", new UserPriming(DependencyFactory.objectMapper()), UserPriming::restore);
+
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper = DependencyFactory.objectMapper();
+  private final Orchestrate orchestrate = DependencyFactory.orchestrate();
+
+  @Override
+  public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+    Logging.begin(context);
+    Metrics.begin();
+    var span = Span.getInvalid();
+    try {
+      var request = read(input);
+      span = Tracing.begin("user", request.headers());
+      try (var scope = span.makeCurrent()) {
+        log.info("received user request {} {}", request.httpMethod(), request.resource());
+        Logging.payload("user request", request, mapper);
+
+        var response = orchestrate.response(request).join();
+        Lazy.report();
+        span.setAttribute("http.response.status_code", response.statusCode());
+        write(response, output);
+      }
+    } catch (IOException | RuntimeException e) {
+      Tracing.fail(span, e);
+      throw e;
+    } finally {
+      span.end();
+      Metrics.emit("user");
+      LatencyRecorder.snapshotIfDue();
+      Logging.end();
+    }
+  }
+
+  private void write(ApiResponse response, OutputStream output) throws IOException {
+    var span = Tracing.tracer().spanBuilder("json encode").startSpan();
+    try (var generator = mapper.getFactory().createGenerator(output)) {
+      response.write(generator, mapper);
+    } finally {
+      span.end();
+    }
+  }
+
+  private ApiRequest read(InputStream input) throws IOException {
+    String httpMethod = null;
+    String resource = null;
+    String body = null;
+    Map<String, String> claims = Map.of();
+    Map<String, String> pathParameters = Map.of();
+    Map<String, String> headers = Map.of();
+
+    try (var parser = mapper.getFactory().createParser(input)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT)
+        throw new IOException("api gateway event is not a json object");
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var name = parser.currentName();
+        parser.nextToken();
+
+        switch (name) {
+          case "httpMethod" -> httpMethod = parser.getValueAsString();
+          case "resource" -> resource = parser.getValueAsString();
+          case "body" -> body = parser.getValueAsString();
+          case "pathParameters" -> pathParameters = strings(parser, null);
+          case "headers" -> headers = strings(parser, HEADERS);
+          case "requestContext" -> claims = nested(parser, CLAIMS, 0);
+          default -> parser.skipChildren();
+        }
+      }
+    }
+
+    return new ApiRequest(httpMethod, resource, pathParameters, headers, body, claims.get("iss"), ApiRequest.groups(claims.get("cognito:groups")));
+  }
+
+  private static Map<String, String> strings(JsonParser parser, Set<String> retain) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return Map.of();
+    }
+
+    var values = new HashMap<String, String>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      if (retain == null || retain.contains(name.toLowerCase()))
+        values.put(name, parser.getValueAsString());
+
+      parser.skipChildren();
+    }
+
+    return values;
+  }
+
+  private static Map<String, String> nested(JsonParser parser, String[] path, int depth) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return Map.of();
+    }
+
+    Map<String, String> values = Map.of();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+
+      if (!name.equals(path[depth])) {
+        parser.skipChildren();
+      } else if (depth == path.length - 1) {
+        values = strings(parser, CLAIMED);
+      } else {
+        values = nested(parser, path, depth + 1);
+      }
+    }
+
+    return values;
+  }
+}
@@ -0,0 +1,100 @@
+package ui.webapp;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.execute.UserPoolResolver;
+import ui.webapp.model.User;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UpdateUserRequest;
+import ui.webapp.route.ReadUsers;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserPriming implements Runnable {
+  private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_prime";
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"prime","settings":{"mfa":{"enabled":false,"configured":false},"theme":"light","subscription":"FREE"}}""";
+  private static final String PATCH = """
+    {"username":"prime","settings":{"theme":"dark","mfa":{"enabled":true}}}""";
+  private static final String BATCH = """
+    {"ids":["prime","missing"]}""";
+
+  private final ObjectMapper mapper;
+  private final Orchestrate orchestrate;
+  private final List<ApiRequest> requests;
+
+  public UserPriming(ObjectMapper mapper) {
+    var cognito = Priming.cognito();
+    var resolver = new UserPoolResolver(() -> cognito, "us-west-2_prime", null, Duration.ofHours(1), Duration.ofHours(1));
+    var userClient = new UserClient(
+      Priming.dynamoDb(),
+      () -> cognito,
+      resolver,
+      new UserCache(16, Duration.ofSeconds(10)),
+      new Hedge(Duration.ofSeconds(1), Duration.ofSeconds(3)),
+      "prime");
+
+    this.mapper = mapper;
+    this.orchestrate = new Orchestrate(mapper, userClient, ApiDependencyFactory.profanityFilter(), 500);
+    this.requests = List.of(
+      request("GET", "/user/{user}", Map.of(), null),
+      request("GET", "/user/{user}", Map.of("Cache-Control", "no-cache"), null),
+      request("PUT", "/user/{user}", Map.of(), UPDATE),
+      request("PATCH", "/user/{user}", Map.of(), PATCH),
+      request("POST", "/users/batch", Map.of(), BATCH),
+      request("DELETE", "/user/{user}/unsubscribe", Map.of(), null),
+      request("GET", "/missing", Map.of(), null));
+  }
+
+  public static void restore() {
+    ClientRegistry.refreshCredentials();
+    ClientRegistry.warm(DependencyFactory.dynamoDbClient());
+    var userPoolId = DependencyFactory.config().userPoolId();
+    if (userPoolId != null)
+      DependencyFactory.cognito().ifInitialized(client -> ClientRegistry.warm(client, userPoolId));
+  }
+
+  @Override
+  public void run() {
+    prime();
+  }
+
+  @SneakyThrows
+  List<Integer> prime() {
+    var user = User.from(Priming.user().attributeValue());
+    mapper.readValue(mapper.writeValueAsBytes(user), User.class);
+    mapper.readValue(UPDATE, UpdateUserRequest.class);
+
+    ApiRequest.from(new APIGatewayProxyRequestEvent()
+      .withHttpMethod("GET")
+      .withResource("/user/{user}")
+      .withPathParameters(Map.of("user", Priming.USER_ID))
+      .withHeaders(Map.of()));
+
+    var statuses = new ArrayList<Integer>(requests.size());
+    for (var request : requests) {
+      var response = orchestrate.response(request).join();
+      response.event(mapper);
+      try (var generator = mapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+        response.write(generator, mapper);
+      }
+      statuses.add(response.statusCode());
+    }
+
+    return statuses;
+  }
+
+  private static ApiRequest request(String method, String resource, Map<String, String> headers, String body) {
+    return new ApiRequest(method, resource, Map.of("user", Priming.USER_ID), headers, body, ISSUER, Set.of(ReadUsers.ADMIN_GROUP));
+  }
+}
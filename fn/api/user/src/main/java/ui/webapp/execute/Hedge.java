@@ -0,0 +1,101 @@
+package ui.webapp.execute;
+
+import ui.webapp.Execution;
+import ui.webapp.Logging;
+import ui.webapp.Metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class Hedge {
+  private static final int WINDOW = 256;
+  private static final int MIN_SAMPLES = 32;
+  private static final int REFRESH_EVERY = 16;
+  private static final double PERCENTILE = 0.95;
+
+  private final Duration attemptTimeout;
+  private final Duration timeout;
+  private final long[] samples = new long[WINDOW];
+  private int count;
+  private int next;
+  private volatile long thresholdNanos = -1;
+
+  public Hedge(Duration attemptTimeout, Duration timeout) {
+    this.attemptTimeout = attemptTimeout;
+    this.timeout = timeout;
+  }
+
+  public Duration attemptTimeout() {
+    return attemptTimeout;
+  }
+
+  public Duration timeout() {
+    return timeout;
+  }
+
+  public <T> CompletableFuture<T> read(Supplier<CompletableFuture<T>> call) {
+    Metrics.count("Hedge.Reads");
+
+    var scope = Logging.scoped();
+    var result = new CompletableFuture<T>();
+    var pending = new AtomicInteger(1);
+    var primary = attempt(call, result, pending, false, scope);
+
+    var threshold = thresholdNanos;
+    if (threshold >= 0 && threshold < attemptTimeout.toNanos()) {
+      Execution.delay(threshold, TimeUnit.NANOSECONDS).thenRunAsync(() -> {
+        if (result.isDone())
+          return;
+
+        Metrics.count("Hedge.Hedges");
+        Metrics.timing("Hedge.Threshold", threshold);
+        pending.incrementAndGet();
+        var secondary = attempt(call, result, pending, true, scope);
+        result.whenComplete((value, e) -> secondary.cancel(true));
+      }, scope);
+    }
+
+    result.whenComplete((value, e) -> primary.cancel(true));
+    return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private <T> CompletableFuture<T> attempt(
+    Supplier<CompletableFuture<T>> call,
+    CompletableFuture<T> result,
+    AtomicInteger pending,
+    boolean hedged,
+    Executor scope) {
+
+    var started = System.nanoTime();
+    var future = call.get();
+
+    future.whenCompleteAsync((value, e) -> {
+      if (e == null) {
+        record(System.nanoTime() - started);
+        if (result.complete(value) && hedged)
+          Metrics.count("Hedge.Wins");
+      } else if (pending.decrementAndGet() == 0) {
+        result.completeExceptionally(e);
+      }
+    }, scope);
+
+    return future;
+  }
+
+  private synchronized void record(long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % WINDOW;
+    count++;
+
+    if (count >= MIN_SAMPLES && count % REFRESH_EVERY == 0) {
+      var sorted = Arrays.copyOf(samples, Math.min(count, WINDOW));
+      Arrays.sort(sorted);
+      thresholdNanos = sorted[(int) Math.ceil(PERCENTILE * sorted.length) - 1];
+    }
+  }
+}
@@ -1,103 +1,95 @@
 package ui.webapp.execute;
 
-import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
-import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
-import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import ui.webapp.Logging;
-import ui.webapp.model.request.UpdateUserRequest;
+import ui.webapp.Metrics;
+import ui.webapp.Profanity;
+import ui.webapp.Resilience;
+import ui.webapp.Tracing;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+import ui.webapp.route.PatchUser;
+import ui.webapp.route.ReadUser;
+import ui.webapp.route.ReadUsers;
+import ui.webapp.route.Route;
+import ui.webapp.route.UnsubscribeUser;
+import ui.webapp.route.UpdateUser;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 
-import static ui.webapp.JsonUtil.fromJson;
-import static ui.webapp.JsonUtil.toJson;
-
 public class Orchestrate {
   private final Logger log = Logging.handler();
-  private final ObjectMapper mapper;
-  private final UserClient userClient;
+  private final Map<String, Map<String, Route>> routes;
+  private final Map<String, Route> methodNotAllowed;
+  private final Route notFound;
+
+  public Orchestrate(ObjectMapper mapper, UserClient userClient, Profanity profanity, long batchMaxIds) {
+    this.routes = Map.of(
+      ReadUser.RESOURCE, Map.of(
+        "GET", new ReadUser(userClient),
+        "PUT", new UpdateUser(mapper, userClient, profanity),
+        "PATCH", new PatchUser(mapper, userClient, profanity)),
+      UnsubscribeUser.RESOURCE, Map.of(
+        "DELETE", new UnsubscribeUser(userClient)),
+      ReadUsers.RESOURCE, Map.of(
+        "POST", new ReadUsers(mapper, userClient, batchMaxIds)));
 
-  final static String READ_USER = "/user/{user}";
-  final static String UPDATE_USER = "/user/{user}";
-  final static String DELETE_USER = "/user/{user}/unsubscribe";
+    var rejected = new HashMap<String, Route>();
+    routes.forEach((resource, methods) -> {
+      var allow = String.join(", ", new TreeSet<>(methods.keySet()));
+      var headers = Map.of("Content-Type", "application/json", "Allow", allow);
+      rejected.put(resource, request -> {
+        log.error("user api method not allowed {} {}", request.httpMethod(), resource);
+        return CompletableFuture.completedFuture(new ApiResponse(405, headers, null));
+      });
+    });
 
-  public Orchestrate(ObjectMapper mapper, DynamoDbAsyncClient dynamoDbClient, CognitoIdentityProviderAsyncClient cognitoClient) {
-    this.mapper = mapper;
-    this.userClient = new UserClient(dynamoDbClient, cognitoClient);
+    this.methodNotAllowed = Map.copyOf(rejected);
+    this.notFound = request -> {
+      log.error("user api resource not found {} {}", request.httpMethod(), request.resource());
+      return CompletableFuture.completedFuture(ApiResponse.status(404));
+    };
   }
 
-  public CompletableFuture<APIGatewayProxyResponseEvent> response(APIGatewayProxyRequestEvent request) {
-    var parameters = request.getPathParameters();
-    var userId = parameters.get("user");
+  public CompletableFuture<ApiResponse> response(ApiRequest request) {
+    var route = route(request.httpMethod(), request.resource());
+    var name = route == notFound ? "unmatched" : request.httpMethod() + " " + request.resource();
 
-    var headers = Map.of("Content-Type", "application/json");
+    return Metrics.route(name, () -> Tracing.async("route " + name, () -> dispatch(route, request)), ApiResponse::statusCode);
+  }
 
-    if (request.getHttpMethod().equals("GET") && request.getResource().equals(READ_USER)) {
-      log.info("get user {}", request);
+  private CompletableFuture<ApiResponse> dispatch(Route route, ApiRequest request) {
+    var rejecting = Resilience.rejecting(route.dependencies());
+    if (rejecting.isPresent()) {
+      log.warn("user api failing fast {} {} circuit open {}", request.httpMethod(), request.resource(), Resilience.stats());
+      var retryAfter = Math.max(1, rejecting.get().toSeconds());
+      return CompletableFuture.completedFuture(new ApiResponse(503, Map.of(
+        "Content-Type", "application/json",
+        "Retry-After", Long.toString(retryAfter)), null));
+    }
 
-      return userClient.get(userId)
-        .thenApply(response -> {
-          var body = toJson(response, mapper);
-          log.info("get user ok {} {}", READ_USER, body);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(200)
-            .withHeaders(headers)
-            .withBody(body);
-        })
-        .exceptionally(e -> {
-          log.error("get user not ok {} {}", e.getMessage(), READ_USER);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(400)
-            .withHeaders(headers);
-        });
-    } else if (request.getHttpMethod().equals("PUT") && request.getResource().equals(UPDATE_USER)) {
-      log.info("put user {} ", request);
+    return route.handle(request);
+  }
 
-      var b = fromJson(mapper, request.getBody(), UpdateUserRequest.class);
-      return userClient.update(userId, b)
-        .thenApply(response -> {
-          var body = toJson(response, mapper);
-          log.info("put user ok {} {}", UPDATE_USER, body);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(200)
-            .withHeaders(headers)
-            .withBody(body);
-        })
-        .exceptionally(e -> {
-          log.error("put user not ok {} {}", e.getMessage(), UPDATE_USER);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(400)
-            .withHeaders(headers);
-        });
-    } else if (request.getHttpMethod().equals("DELETE") && request.getResource().equals(DELETE_USER)) {
-      log.info("delete user {}", request);
+  public Set<String> resources() {
+    return routes.keySet();
+  }
 
-      return userClient.unsubscribe(userId)
-        .thenApply(response -> {
-          var body = response.toString();
-          log.info("delete user ok {} {}", DELETE_USER, body);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(200)
-            .withHeaders(headers)
-            .withBody(body);
-        })
-        .exceptionally(e -> {
-          log.error("delete user not ok {} {}", e.getMessage(), DELETE_USER);
-          return new APIGatewayProxyResponseEvent()
-            .withStatusCode(400)
-            .withHeaders(headers);
-        });
-    } else {
-      return CompletableFuture.supplyAsync(() -> {
-        log.error("user api request not ok {}", request);
-        return new APIGatewayProxyResponseEvent()
-          .withStatusCode(400)
-          .withHeaders(headers);
-      });
-    }
+  public Route route(String method, String resource) {
+    if (method == null || resource == null)
+      return notFound;
+
+    var methods = routes.get(resource);
+    if (methods == null)
+      return notFound;
+
+    var route = methods.get(method);
+    return route != null ? route : methodNotAllowed.get(resource);
   }
 }
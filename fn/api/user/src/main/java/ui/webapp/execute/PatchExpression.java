@@ -0,0 +1,136 @@
+package ui.webapp.execute;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.model.Subscription;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record PatchExpression(
+  String updateExpression,
+  Map<String, String> names,
+  Map<String, AttributeValue> values
+) {
+  public static final PatchExpression EMPTY = new PatchExpression(null, Map.of(), Map.of());
+
+  private enum Kind { STRING, NULLABLE_STRING, BOOLEAN, SUBSCRIPTION }
+
+  private static final Map<String, Object> SCHEMA = Map.of(
+    "phone", Kind.NULLABLE_STRING,
+    "username", Kind.STRING,
+    "settings", Map.of(
+      "theme", Kind.STRING,
+      "subscription", Kind.SUBSCRIPTION,
+      "mfa", Map.of(
+        "enabled", Kind.BOOLEAN,
+        "configured", Kind.BOOLEAN)));
+
+  public static PatchExpression compile(JsonNode patch, Instant updated) {
+    if (patch == null || !patch.isObject())
+      throw new IllegalArgumentException("merge patch must be a json object");
+
+    var compiler = new Compiler();
+    compiler.walk(patch, SCHEMA, List.of());
+    if (compiler.isEmpty())
+      return EMPTY;
+
+    compiler.set(List.of("updated"), AttributeValue.builder().s(updated.toString()).build());
+    return compiler.build();
+  }
+
+  public boolean isEmpty() {
+    return updateExpression == null;
+  }
+
+  private static class Compiler {
+    private final List<String> sets = new ArrayList<>();
+    private final List<String> removes = new ArrayList<>();
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, AttributeValue> values = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private void walk(JsonNode patch, Map<String, Object> schema, List<String> parent) {
+      for (var field : patch.properties()) {
+        var name = field.getKey();
+        var value = field.getValue();
+        var spec = schema.get(name);
+
+        if (spec == null)
+          throw new IllegalArgumentException("unknown field " + String.join(".", parent) + (parent.isEmpty() ? "" : ".") + name);
+
+        var path = new ArrayList<>(parent);
+        path.add(name);
+
+        if (spec instanceof Map<?, ?> nested) {
+          if (!value.isObject())
+            throw new IllegalArgumentException(name + " must be a json object");
+
+          walk(value, (Map<String, Object>) nested, path);
+        } else if (value.isNull()) {
+          if (spec != Kind.NULLABLE_STRING)
+            throw new IllegalArgumentException(name + " cannot be removed");
+
+          removes.add(reference(path));
+        } else {
+          set(path, attribute(name, (Kind) spec, value));
+        }
+      }
+    }
+
+    private void set(List<String> path, AttributeValue value) {
+      var placeholder = ":v" + values.size();
+      values.put(placeholder, value);
+      sets.add(reference(path) + " = " + placeholder);
+    }
+
+    // only names that end up in a SET or REMOVE clause are registered, DynamoDB rejects unused ones
+    private String reference(List<String> path) {
+      var segments = new ArrayList<String>(path.size());
+      for (var name : path) {
+        names.put("#" + name, name);
+        segments.add("#" + name);
+      }
+
+      return String.join(".", segments);
+    }
+
+    private boolean isEmpty() {
+      return sets.isEmpty() && removes.isEmpty();
+    }
+
+    private static AttributeValue attribute(String name, Kind kind, JsonNode value) {
+      switch (kind) {
+        case STRING, NULLABLE_STRING -> {
+          if (value.isTextual())
+            return AttributeValue.builder().s(value.textValue()).build();
+        }
+        case BOOLEAN -> {
+          if (value.isBoolean())
+            return AttributeValue.builder().bool(value.booleanValue()).build();
+        }
+        case SUBSCRIPTION -> {
+          if (value.isTextual()) {
+            for (var subscription : Subscription.values()) {
+              if (subscription.name().equals(value.textValue()))
+                return AttributeValue.builder().s(subscription.name()).build();
+            }
+          }
+        }
+      }
+
+      throw new IllegalArgumentException("invalid value for " + name);
+    }
+
+    private PatchExpression build() {
+      var expression = "SET " + String.join(", ", sets);
+      if (!removes.isEmpty())
+        expression += " REMOVE " + String.join(", ", removes);
+
+      return new PatchExpression(expression, Map.copyOf(names), Map.copyOf(values));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package ui.webapp.execute;
+
+import lombok.SneakyThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class PurgeCheckpoint {
+  private final Path path;
+
+  public record State(long position, List<String> failed) {}
+
+  public PurgeCheckpoint(Path path) {
+    this.path = path;
+  }
+
+  @SneakyThrows
+  public State load() {
+    if (!Files.exists(path))
+      return new State(0, List.of());
+
+    var lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    if (lines.isEmpty())
+      return new State(0, List.of());
+
+    var failed = new ArrayList<String>();
+    for (var line : lines.subList(1, lines.size())) {
+      if (!line.isBlank())
+        failed.add(line.trim());
+    }
+
+    return new State(Long.parseLong(lines.getFirst().trim()), List.copyOf(failed));
+  }
+
+  @SneakyThrows
+  public void save(long position, Collection<String> failed) {
+    var contents = new StringBuilder().append(position).append('\n');
+    for (var id : failed)
+      contents.append(id).append('\n');
+
+    var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.writeString(temporary, contents, StandardCharsets.UTF_8);
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
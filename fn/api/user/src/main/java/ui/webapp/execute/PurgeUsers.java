@@ -0,0 +1,205 @@
+package ui.webapp.execute;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import ui.webapp.CircuitOpenException;
+import ui.webapp.Env;
+import ui.webapp.Execution;
+import ui.webapp.Logging;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class PurgeUsers {
+  private static final int WINDOW = 100;
+  private static final int BATCH_WRITE_SIZE = 25;
+  private static final int ATTEMPTS = 8;
+  private static final long BACKOFF_MILLIS = 50;
+  private static final long BACKOFF_CAP_MILLIS = 5000;
+
+  private final Logger log = Logging.handler();
+  private final DynamoDbAsyncClient dynamoDbClient;
+  private final CognitoIdentityProviderAsyncClient cognitoClient;
+  private final UserPoolResolver userPoolResolver;
+  private final UserCache userCache;
+  private final TokenBucket cognitoRate;
+  private final PurgeCheckpoint checkpoint;
+  private final String table;
+
+  public record Result(long purged, long failed, long position) {}
+
+  public PurgeUsers(
+    DynamoDbAsyncClient dynamoDbClient,
+    CognitoIdentityProviderAsyncClient cognitoClient,
+    UserPoolResolver userPoolResolver,
+    UserCache userCache,
+    TokenBucket cognitoRate,
+    PurgeCheckpoint checkpoint,
+    String table) {
+
+    this.dynamoDbClient = dynamoDbClient;
+    this.cognitoClient = cognitoClient;
+    this.userPoolResolver = userPoolResolver;
+    this.userCache = userCache;
+    this.cognitoRate = cognitoRate;
+    this.checkpoint = checkpoint;
+    this.table = table;
+  }
+
+  public Result purge(Iterator<String> subscriberIds) {
+    var userPoolId = userPoolResolver.resolve(null).join()
+      .orElseThrow(() -> new IllegalStateException("user pool " + Env.USER_POOL_NAME.name() + " not found"));
+
+    var state = checkpoint.load();
+    var position = state.position();
+    for (var skipped = 0L; skipped < position && subscriberIds.hasNext(); skipped++)
+      subscriberIds.next();
+
+    log.info("purge resuming at {} retrying {}", position, state.failed().size());
+
+    long purged = 0;
+    var retries = new ArrayDeque<>(state.failed());
+    var failed = new LinkedHashSet<String>();
+    // a set so an id repeated in the input or already carried as a retry is not written twice in one batch
+    var window = new LinkedHashSet<String>(WINDOW * 2);
+    while (!retries.isEmpty() || subscriberIds.hasNext()) {
+      window.clear();
+      while (window.size() < WINDOW && !retries.isEmpty())
+        window.add(retries.poll());
+
+      var advanced = 0L;
+      while (window.size() < WINDOW && subscriberIds.hasNext()) {
+        var id = subscriberIds.next().trim();
+        advanced++;
+        if (!id.isEmpty())
+          window.add(id);
+      }
+
+      var deleted = window.stream()
+        .map(id -> deleteFromCognito(userPoolId, id, 0).thenApply(ok -> ok ? id : null))
+        .toList();
+
+      var removable = deleted.stream()
+        .map(CompletableFuture::join)
+        .filter(id -> id != null)
+        .toList();
+
+      // a failed chunk stays in the checkpoint, its cognito users are gone so the rerun only repeats the write
+      var removed = new HashSet<String>();
+      Lists.partition(removable, BATCH_WRITE_SIZE).stream()
+        .map(chunk -> batchDelete(table, chunk.stream().map(PurgeUsers::deleteRequest).toList(), 0)
+          .handle((ok, e) -> {
+            if (e != null) {
+              log.error("error purging users from dynamodb {} {}", chunk, e.getMessage());
+              return List.<String>of();
+            }
+            return chunk;
+          }))
+        .toList()
+        .forEach(write -> removed.addAll(write.join()));
+
+      removed.forEach(userCache::evict);
+      purged += removed.size();
+
+      window.stream()
+        .filter(id -> !removed.contains(id))
+        .forEach(failed::add);
+
+      // failed ids travel with the checkpoint so a rerun retries them before moving on
+      position += advanced;
+      checkpoint.save(position, failed);
+
+      log.info("purged {} failed {} position {} cognito rate {}", purged, failed.size(), position, cognitoRate.rate());
+    }
+
+    return new Result(purged, failed.size(), position);
+  }
+
+  private CompletableFuture<Boolean> deleteFromCognito(String userPoolId, String username, int attempt) {
+    return cognitoRate.acquire()
+      .thenCompose(ready -> cognitoClient.adminDeleteUser(
+        AdminDeleteUserRequest.builder()
+          .userPoolId(userPoolId)
+          .username(username)
+          .build()))
+      .thenApply(response -> {
+        cognitoRate.onSuccess();
+        return true;
+      })
+      .exceptionallyCompose(e -> {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+        if (cause instanceof UserNotFoundException)
+          return CompletableFuture.completedFuture(true);
+
+        // an open breaker is the resilience layer reporting the same throttling, so both slow the bucket and back off
+        if (throttled(cause) && attempt + 1 < ATTEMPTS) {
+          cognitoRate.onThrottle();
+          return Execution.delay(backoff(attempt), TimeUnit.MILLISECONDS)
+            .thenCompose(retry -> deleteFromCognito(userPoolId, username, attempt + 1));
+        }
+
+        log.error("error purging user from cognito {} {}", username, cause.getMessage());
+        return CompletableFuture.completedFuture(false);
+      });
+  }
+
+  private CompletableFuture<Void> batchDelete(String table, List<WriteRequest> requests, int attempt) {
+    return dynamoDbClient.batchWriteItem(
+        BatchWriteItemRequest.builder()
+          .requestItems(Map.of(table, requests))
+          .build())
+      .thenCompose(response -> {
+        var unprocessed = response.unprocessedItems().get(table);
+        if (unprocessed == null || unprocessed.isEmpty())
+          return CompletableFuture.completedFuture(null);
+
+        if (attempt + 1 >= ATTEMPTS)
+          return CompletableFuture.failedFuture(new IllegalStateException("unprocessed deletes after " + ATTEMPTS + " attempts"));
+
+        return Execution.delay(backoff(attempt), TimeUnit.MILLISECONDS)
+          .thenCompose(retry -> batchDelete(table, unprocessed, attempt + 1));
+      });
+  }
+
+  private static boolean throttled(Throwable failure) {
+    for (var cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TooManyRequestsException || cause instanceof CircuitOpenException)
+        return true;
+      if (cause instanceof SdkServiceException service && service.isThrottlingException())
+        return true;
+    }
+    return false;
+  }
+
+  private static long backoff(int attempt) {
+    var cap = Math.min(BACKOFF_CAP_MILLIS, BACKOFF_MILLIS << attempt);
+    return ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+
+  private static WriteRequest deleteRequest(String subscriberId) {
+    return WriteRequest.builder()
+      .deleteRequest(DeleteRequest.builder()
+        .key(Map.of("id", AttributeValue.builder().s(subscriberId).build()))
+        .build())
+      .build();
+  }
+}
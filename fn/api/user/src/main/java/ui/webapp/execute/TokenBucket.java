@@ -0,0 +1,54 @@
+package ui.webapp.execute;
+
+import ui.webapp.Execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+  private static final long COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final double minRate;
+  private final double maxRate;
+  private final double burst;
+  private double rate;
+  private long next = System.nanoTime();
+  private long backedOff = System.nanoTime() - COOLDOWN_NANOS;
+
+  public TokenBucket(double rate, double burst) {
+    this.minRate = Math.max(1, rate / 16);
+    this.maxRate = rate;
+    this.burst = burst;
+    this.rate = rate;
+  }
+
+  public CompletableFuture<Void> acquire() {
+    return Execution.delay(reserve(), TimeUnit.NANOSECONDS);
+  }
+
+  public synchronized void onSuccess() {
+    rate = Math.min(maxRate, rate + 1 / rate);
+  }
+
+  // concurrent calls throttled by the same burst back off once, not once each
+  public synchronized void onThrottle() {
+    var now = System.nanoTime();
+    if (now - backedOff < COOLDOWN_NANOS)
+      return;
+
+    backedOff = now;
+    rate = Math.max(minRate, rate / 2);
+  }
+
+  public synchronized double rate() {
+    return rate;
+  }
+
+  private synchronized long reserve() {
+    var now = System.nanoTime();
+    var interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    var slot = Math.max(next, now - (long) (burst * interval));
+    next = slot + interval;
+    return slot - now;
+  }
+}
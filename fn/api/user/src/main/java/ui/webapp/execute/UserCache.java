@@ -0,0 +1,64 @@
+package ui.webapp.execute;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.Metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+
+public class UserCache {
+  private final Cache<String, Map<String, AttributeValue>> cache;
+
+  public UserCache(long maximumSize, Duration ttl) {
+    this.cache = CacheBuilder.newBuilder()
+      .maximumSize(ttl.isZero() ? 0 : maximumSize)
+      .expireAfterWrite(ttl)
+      .removalListener((RemovalListener<String, Map<String, AttributeValue>>) removal -> {
+        if (removal.wasEvicted())
+          Metrics.count("UserCache.Evictions");
+      })
+      .build();
+  }
+
+  public Optional<Map<String, AttributeValue>> get(String subscriberId) {
+    var item = cache.getIfPresent(subscriberId);
+    Metrics.count(item == null ? "UserCache.Misses" : "UserCache.Hits");
+    return Optional.ofNullable(item);
+  }
+
+  // write-through from an update, the item is the latest state
+  public void put(Map<String, AttributeValue> item) {
+    if (item != null && item.containsKey("id"))
+      cache.put(item.get("id").s(), item);
+  }
+
+  // a read that started before an update can finish after it, keep whichever item was updated last
+  public void offer(Map<String, AttributeValue> item) {
+    if (item == null || !item.containsKey("id"))
+      return;
+
+    cache.asMap().merge(item.get("id").s(), item, (current, read) -> updated(read).isBefore(updated(current)) ? current : read);
+  }
+
+  public void evict(String subscriberId) {
+    cache.invalidate(subscriberId);
+  }
+
+  private static Instant updated(Map<String, AttributeValue> item) {
+    var updated = item.get("updated");
+    if (updated == null || updated.s() == null)
+      return Instant.MIN;
+
+    try {
+      return Instant.parse(updated.s());
+    } catch (DateTimeParseException e) {
+      return Instant.MIN;
+    }
+  }
+}
@@ -2,9 +2,12 @@ package ui.webapp.execute;
 
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
-import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUserPoolsRequest;
+import com.google.common.collect.Lists;
 import ui.webapp.Env;
+import ui.webapp.Execution;
 import ui.webapp.Logging;
+import ui.webapp.Metrics;
+import ui.webapp.Tracing;
 import lombok.SneakyThrows;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
@@ -13,24 +16,52 @@ import ui.webapp.model.User;
 import ui.webapp.model.request.UpdateUserRequest;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class UserClient {
+  private static final int BATCH_GET_SIZE = 100;
+  private static final int BATCH_GET_ATTEMPTS = 8;
+  private static final long BATCH_GET_BACKOFF_MILLIS = 25;
+  private static final long BATCH_GET_BACKOFF_CAP_MILLIS = 1000;
+
   private final Logger log = Logging.handler();
   private final DynamoDbAsyncClient dynamoDbClient;
-  private final CognitoIdentityProviderAsyncClient cognitoClient;
+  private final Supplier<CognitoIdentityProviderAsyncClient> cognitoClient;
+  private final UserPoolResolver userPoolResolver;
+  private final UserCache userCache;
+  private final Hedge hedge;
+  private final String table;
+
+  public UserClient(
+    DynamoDbAsyncClient dynamoDbClient,
+    Supplier<CognitoIdentityProviderAsyncClient> cognitoClient,
+    UserPoolResolver userPoolResolver,
+    UserCache userCache,
+    Hedge hedge,
+    String table) {
 
-  public UserClient(DynamoDbAsyncClient dynamoDbClient, CognitoIdentityProviderAsyncClient cognitoClient) {
     this.dynamoDbClient = dynamoDbClient;
     this.cognitoClient = cognitoClient;
+    this.userPoolResolver = userPoolResolver;
+    this.userCache = userCache;
+    this.hedge = hedge;
+    this.table = table;
   }
 
   @SneakyThrows
   public CompletableFuture<User> update(String subscriberId, UpdateUserRequest request) {
-    return dynamoDbClient.updateItem(
+    return Metrics.call("dynamodb", "UpdateItem", () -> dynamoDbClient.updateItem(
         UpdateItemRequest.builder()
-          .tableName(System.getenv(Env.DYNAMODB_USER_TABLE.name()))
+          .tableName(table)
           .key(Map.of("id", AttributeValue.builder().s(subscriberId).build()))
           .updateExpression("SET phone = :phone, username = :username, settings = :settings, updated = :updated")
           .expressionAttributeValues(Map.of(
@@ -39,95 +70,192 @@ public class UserClient {
             ":settings", AttributeValue.builder().m(request.settings().attributeValue()).build(),
             ":updated", AttributeValue.builder().s(Instant.now().toString()).build()))
           .returnValues(ReturnValue.ALL_NEW)
-          .build())
+          .build()))
       .thenApply(response -> {
         log.debug("updated subscriber {}", response);
-        var attributes = response.attributes();
-        return User.from(attributes);
+        userCache.put(response.attributes());
+        return User.from(response.attributes());
       })
-      .exceptionally(e -> {
+      .exceptionallyAsync(e -> {
         log.error("error updating subscriber {} {} {}", subscriberId, request, e.getMessage());
         return null;
-      });
+      }, Execution.blocking());
   }
 
   @SneakyThrows
-  public CompletableFuture<User> get(String subscriberId) {
-    return dynamoDbClient.getItem(
-        GetItemRequest.builder()
-          .tableName(System.getenv(Env.DYNAMODB_USER_TABLE.name()))
+  public CompletableFuture<Map<String, AttributeValue>> patch(String subscriberId, PatchExpression patch) {
+    return Metrics.call("dynamodb", "UpdateItem", () -> dynamoDbClient.updateItem(
+        UpdateItemRequest.builder()
+          .tableName(table)
           .key(Map.of("id", AttributeValue.builder().s(subscriberId).build()))
-          .consistentRead(true)
-          .build())
+          .conditionExpression("attribute_exists(id)")
+          .updateExpression(patch.updateExpression())
+          .expressionAttributeNames(patch.names())
+          .expressionAttributeValues(patch.values())
+          .returnValues(ReturnValue.UPDATED_NEW)
+          .build()))
+      .thenApply(response -> {
+        log.debug("patched subscriber {}", response);
+        userCache.evict(subscriberId);
+        return response.attributes();
+      })
+      .exceptionallyAsync(e -> {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ConditionalCheckFailedException missing)
+          throw new CompletionException(missing);
+
+        log.error("error patching subscriber {} {} {}", subscriberId, patch, e.getMessage());
+        return null;
+      }, Execution.blocking());
+  }
+
+  public CompletableFuture<User> get(String subscriberId) {
+    return item(subscriberId, true).thenApply(User::from);
+  }
+
+  @SneakyThrows
+  public CompletableFuture<Map<String, AttributeValue>> item(String subscriberId, boolean consistent) {
+    if (!consistent) {
+      var cached = userCache.get(subscriberId);
+      if (cached.isPresent())
+        return CompletableFuture.completedFuture(cached.get());
+    }
+
+    var request = GetItemRequest.builder()
+      .tableName(table)
+      .key(Map.of("id", AttributeValue.builder().s(subscriberId).build()))
+      .consistentRead(true)
+      .overrideConfiguration(override -> override
+        .apiCallAttemptTimeout(hedge.attemptTimeout())
+        .apiCallTimeout(hedge.timeout()))
+      .build();
+
+    return hedge.read(() -> Metrics.call("dynamodb", "GetItem", () -> dynamoDbClient.getItem(request)))
       .thenApply(response -> {
         log.debug("get subscriber {}", response);
-        return User.from(response.item());
+        userCache.offer(response.item());
+        return response.item();
       })
-      .exceptionally(e -> {
+      .exceptionallyAsync(e -> {
         log.error("error reading subscriber {} {}", subscriberId, e.getMessage());
         return null;
-      });
+      }, Execution.blocking());
+  }
+
+  public CompletableFuture<List<Map<String, AttributeValue>>> batch(List<String> subscriberIds) {
+    var found = new ConcurrentHashMap<String, Map<String, AttributeValue>>();
+    var chunks = Lists.partition(new ArrayList<>(new LinkedHashSet<>(subscriberIds)), BATCH_GET_SIZE);
+
+    var requests = chunks.stream()
+      .map(chunk -> chunk.stream()
+        .map(id -> Map.of("id", AttributeValue.builder().s(id).build()))
+        .toList())
+      .map(keys -> batchGet(keys, 0, found))
+      .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(requests)
+      .thenApply(ok -> subscriberIds.stream()
+        .map(found::get)
+        .toList())
+      .exceptionallyAsync(e -> {
+        log.error("error batch reading subscribers {} {}", subscriberIds.size(), e.getMessage());
+        return null;
+      }, Execution.blocking());
+  }
+
+  private CompletableFuture<Void> batchGet(
+    List<Map<String, AttributeValue>> keys,
+    int attempt,
+    Map<String, Map<String, AttributeValue>> found) {
+
+    var traced = Tracing.current(Execution.direct());
+    return Metrics.call("dynamodb", "BatchGetItem", () -> dynamoDbClient.batchGetItem(
+        BatchGetItemRequest.builder()
+          .requestItems(Map.of(table, KeysAndAttributes.builder()
+            .keys(keys)
+            .consistentRead(true)
+            .build()))
+          .build()))
+      .thenComposeAsync(response -> {
+        for (var item : response.responses().getOrDefault(table, List.of())) {
+          found.put(item.get("id").s(), item);
+          userCache.offer(item);
+        }
+
+        var unprocessed = response.unprocessedKeys().get(table);
+        if (unprocessed == null || unprocessed.keys().isEmpty())
+          return CompletableFuture.completedFuture(null);
+
+        if (attempt + 1 >= BATCH_GET_ATTEMPTS)
+          return CompletableFuture.failedFuture(new IllegalStateException("unprocessed keys after " + BATCH_GET_ATTEMPTS + " attempts"));
+
+        var cap = Math.min(BATCH_GET_BACKOFF_CAP_MILLIS, BATCH_GET_BACKOFF_MILLIS << attempt);
+        var delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        log.debug("retrying unprocessed keys {} in {} ms", unprocessed.keys().size(), delay);
+
+        return Execution.delay(delay, TimeUnit.MILLISECONDS)
+          .thenComposeAsync(retry -> batchGet(unprocessed.keys(), attempt + 1, found), traced);
+      }, traced);
   }
 
   @SneakyThrows
-  public CompletableFuture<Boolean> unsubscribe(String subscriberId) {
+  public CompletableFuture<Boolean> unsubscribe(String subscriberId, String issuer) {
+    var traced = Tracing.current(Execution.direct());
     return get(subscriberId)
-      .thenCompose(subscriber -> CompletableFuture.allOf(
-          deleteUserFromCognito(subscriber.id()),
+      .thenComposeAsync(subscriber -> CompletableFuture.allOf(
+          deleteUserFromCognito(subscriber.id(), issuer),
           delete(subscriberId))
-        .thenApply(ok -> true))
-      .exceptionally(e -> {
+        .thenApply(ok -> {
+          userCache.evict(subscriberId);
+          return true;
+        }), traced)
+      .exceptionallyAsync(e -> {
         log.error("error unsubscribing subscriber {} {}", subscriberId, e.getMessage());
         return null;
-      });
+      }, Execution.blocking());
   }
 
   private CompletableFuture<Boolean> delete(String subscriberId) {
-    return dynamoDbClient.deleteItem(
+    return Metrics.call("dynamodb", "DeleteItem", () -> dynamoDbClient.deleteItem(
         DeleteItemRequest.builder()
-          .tableName(System.getenv(Env.DYNAMODB_USER_TABLE.name()))
+          .tableName(table)
           .key(Map.of("id", AttributeValue.builder().s(subscriberId).build()))
           .returnValues(ReturnValue.NONE)
-          .build())
+          .build()))
       .thenApply(response -> {
         log.debug("deleted subscriber {}", response);
         return true;
       })
-      .exceptionally(e -> {
+      .exceptionallyAsync(e -> {
         log.error("error deleting subscriber {} {}", subscriberId, e.getMessage());
         return false;
-      });
+      }, Execution.blocking());
   }
 
-  private CompletableFuture<Boolean> deleteUserFromCognito(String username) {
-    var userPoolName = System.getenv(Env.USER_POOL_NAME.name());
-    return cognitoClient.listUserPools(ListUserPoolsRequest.builder().build())
-      .thenCompose(response -> {
-        var maybeUserPool = response.userPools().stream()
-          .filter(pool -> userPoolName.equals(pool.name()))
-          .findFirst();
-
+  private CompletableFuture<Boolean> deleteUserFromCognito(String username, String issuer) {
+    var traced = Tracing.current(Execution.blocking());
+    return userPoolResolver.resolve(issuer)
+      .thenComposeAsync(maybeUserPool -> {
         if (maybeUserPool.isPresent()) {
-          var userPool = maybeUserPool.get();
-          return cognitoClient.adminDeleteUser(
+          return Metrics.call("cognito-idp", "AdminDeleteUser", () -> cognitoClient.get().adminDeleteUser(
               AdminDeleteUserRequest.builder()
-                .userPoolId(userPool.id())
+                .userPoolId(maybeUserPool.get())
                 .username(username)
                 .build()
-            )
+            ))
             .thenApply(deleteResponse -> true)
-            .exceptionally(e -> {
+            .exceptionallyAsync(e -> {
               log.error("error deleting user from cognito {} {}", username, e.getMessage());
               return false;
-            });
+            }, Execution.blocking());
         } else {
           log.error("user pool {} not found", Env.USER_POOL_NAME.name());
           return CompletableFuture.completedFuture(false);
         }
-      })
-      .exceptionally(e -> {
-        log.error("error listing user pools for deletion {} {}", username, e.getMessage());
+      }, traced)
+      .exceptionallyAsync(e -> {
+        log.error("error resolving user pool for deletion {} {}", username, e.getMessage());
         return false;
-      });
+      }, Execution.blocking());
   }
 }
@@ -0,0 +1,124 @@
+package ui.webapp.execute;
+
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUserPoolsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserPoolDescriptionType;
+import ui.webapp.Logging;
+import ui.webapp.Metrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public class UserPoolResolver {
+  private static final Pattern ISSUER = Pattern.compile("^https://cognito-idp\\.[a-z0-9-]+\\.amazonaws\\.com/([\\w-]+_[0-9a-zA-Z]+)$");
+  private static final int PAGE_SIZE = 60;
+
+  private final Logger log = Logging.handler();
+  private final Supplier<CognitoIdentityProviderAsyncClient> cognitoClient;
+  private final String userPoolId;
+  private final String userPoolName;
+  private final long ttl;
+  private final long negativeTtl;
+  private final AtomicReference<Resolution> resolution = new AtomicReference<>();
+  private final LongAdder lookups = new LongAdder();
+  private final AtomicLong lastLookupNanos = new AtomicLong();
+
+  private record Resolution(CompletableFuture<Optional<String>> userPoolId, long expiresAt) {}
+
+  public record Stats(long lookups, Duration lastLookupLatency) {}
+
+  public UserPoolResolver(
+    Supplier<CognitoIdentityProviderAsyncClient> cognitoClient,
+    String userPoolId,
+    String userPoolName,
+    Duration ttl,
+    Duration negativeTtl) {
+
+    this.cognitoClient = cognitoClient;
+    this.userPoolId = userPoolId;
+    this.userPoolName = userPoolName;
+    this.ttl = ttl.toNanos();
+    this.negativeTtl = negativeTtl.toNanos();
+  }
+
+  public CompletableFuture<Optional<String>> resolve(String issuer) {
+    if (userPoolId != null)
+      return CompletableFuture.completedFuture(Optional.of(userPoolId));
+
+    var fromIssuer = fromIssuer(issuer);
+    if (fromIssuer.isPresent())
+      return CompletableFuture.completedFuture(fromIssuer);
+
+    var now = System.nanoTime();
+    var current = resolution.get();
+    if (current != null && (!current.userPoolId().isDone() || now - current.expiresAt() < 0))
+      return current.userPoolId();
+
+    var pending = new Resolution(new CompletableFuture<>(), now);
+    if (!resolution.compareAndSet(current, pending))
+      return resolve(issuer);
+
+    lookup(now, pending);
+    return pending.userPoolId();
+  }
+
+  public Stats stats() {
+    return new Stats(lookups.sum(), Duration.ofNanos(lastLookupNanos.get()));
+  }
+
+  private void lookup(long started, Resolution pending) {
+    lookups.increment();
+
+    page(null)
+      .whenComplete((found, e) -> {
+        var finished = System.nanoTime();
+        lastLookupNanos.set(finished - started);
+
+        if (e != null) {
+          log.error("error resolving user pool {} {}", userPoolName, e.getMessage());
+          resolution.compareAndSet(pending, null);
+          pending.userPoolId().completeExceptionally(e);
+          return;
+        }
+
+        log.info("resolved user pool {} {} in {} ms", userPoolName, found.orElse("<missing>"), Duration.ofNanos(finished - started).toMillis());
+        var expiresAt = finished + (found.isPresent() ? ttl : negativeTtl);
+        resolution.compareAndSet(pending, new Resolution(pending.userPoolId(), expiresAt));
+        pending.userPoolId().complete(found);
+      });
+  }
+
+  private CompletableFuture<Optional<String>> page(String nextToken) {
+    return Metrics.call("cognito-idp", "ListUserPools", () -> cognitoClient.get().listUserPools(
+        ListUserPoolsRequest.builder()
+          .maxResults(PAGE_SIZE)
+          .nextToken(nextToken)
+          .build()))
+      .thenCompose(response -> {
+        var match = response.userPools().stream()
+          .filter(pool -> pool.name().equals(userPoolName))
+          .map(UserPoolDescriptionType::id)
+          .findFirst();
+
+        if (match.isPresent() || response.nextToken() == null)
+          return CompletableFuture.completedFuture(match);
+
+        return page(response.nextToken());
+      });
+  }
+
+  private static Optional<String> fromIssuer(String issuer) {
+    if (issuer == null)
+      return Optional.empty();
+
+    var matcher = ISSUER.matcher(issuer);
+    return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+  }
+}
@@ -0,0 +1,70 @@
+package ui.webapp.model.request;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record ApiRequest(
+  String httpMethod,
+  String resource,
+  Map<String, String> pathParameters,
+  Map<String, String> headers,
+  String body,
+  String issuer,
+  Set<String> groups
+) {
+
+  public static ApiRequest from(APIGatewayProxyRequestEvent event) {
+    var claims = Optional.ofNullable(event.getRequestContext())
+      .map(APIGatewayProxyRequestEvent.ProxyRequestContext::getAuthorizer)
+      .map(authorizer -> authorizer.get("claims"))
+      .filter(Map.class::isInstance)
+      .map(value -> (Map<?, ?>) value);
+
+    var issuer = claims
+      .map(c -> c.get("iss"))
+      .map(Object::toString)
+      .orElse(null);
+
+    var groups = claims
+      .map(c -> c.get("cognito:groups"))
+      .map(Object::toString)
+      .orElse(null);
+
+    return new ApiRequest(
+      event.getHttpMethod(),
+      event.getResource(),
+      Optional.ofNullable(event.getPathParameters()).orElse(Map.of()),
+      Optional.ofNullable(event.getHeaders()).orElse(Map.of()),
+      event.getBody(),
+      issuer,
+      groups(groups));
+  }
+
+  // api gateway flattens the cognito:groups claim to a string such as "[admin, free]" or "admin,free"
+  public static Set<String> groups(String claim) {
+    if (claim == null || claim.isBlank())
+      return Set.of();
+
+    return Arrays.stream(claim.replace("[", "").replace("]", "").split("[,\\s]+"))
+      .filter(group -> !group.isEmpty())
+      .collect(Collectors.toUnmodifiableSet());
+  }
+
+  public String pathParameter(String name) {
+    return pathParameters.get(name);
+  }
+
+  public String header(String name) {
+    for (var header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name))
+        return header.getValue();
+    }
+
+    return null;
+  }
+}
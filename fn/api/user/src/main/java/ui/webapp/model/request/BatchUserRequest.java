@@ -0,0 +1,10 @@
+package ui.webapp.model.request;
+
+import ui.webapp.codegen.JsonCodec;
+
+import java.util.List;
+
+@JsonCodec
+public record BatchUserRequest(
+  List<String> ids
+) {}
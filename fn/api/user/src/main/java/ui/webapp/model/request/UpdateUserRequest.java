@@ -1,7 +1,9 @@
 package ui.webapp.model.request;
 
+import ui.webapp.codegen.JsonCodec;
 import ui.webapp.model.Settings;
 
+@JsonCodec
 public record UpdateUserRequest(
   String phone,
   String username,
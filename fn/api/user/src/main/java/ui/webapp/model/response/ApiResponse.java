@@ -0,0 +1,68 @@
+package ui.webapp.model.response;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import ui.webapp.JsonStringWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+public record ApiResponse(
+  int statusCode,
+  Map<String, String> headers,
+  Body body
+) {
+  public static final Map<String, String> HEADERS = Map.of("Content-Type", "application/json");
+
+  public interface Body {
+    void write(JsonGenerator generator) throws IOException;
+  }
+
+  public static ApiResponse ok(Body body) {
+    return new ApiResponse(200, HEADERS, body);
+  }
+
+  public static ApiResponse status(int statusCode) {
+    return new ApiResponse(statusCode, HEADERS, null);
+  }
+
+  @SneakyThrows
+  public APIGatewayProxyResponseEvent event(ObjectMapper mapper) {
+    var event = new APIGatewayProxyResponseEvent()
+      .withStatusCode(statusCode)
+      .withHeaders(headers);
+
+    if (body == null)
+      return event;
+
+    var writer = new StringWriter();
+    try (var generator = mapper.getFactory().createGenerator(writer)) {
+      body.write(generator);
+    }
+
+    return event.withBody(writer.toString());
+  }
+
+  public void write(JsonGenerator generator, ObjectMapper mapper) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("statusCode", statusCode);
+    generator.writeObjectFieldStart("headers");
+    for (var header : headers.entrySet())
+      generator.writeStringField(header.getKey(), header.getValue());
+    generator.writeEndObject();
+
+    if (body != null) {
+      generator.writeFieldName("body");
+      generator.writeRawValue("\"");
+      try (var inner = mapper.getFactory().createGenerator(new JsonStringWriter(generator))) {
+        body.write(inner);
+      }
+      generator.writeRaw('"');
+    }
+
+    generator.writeEndObject();
+  }
+}
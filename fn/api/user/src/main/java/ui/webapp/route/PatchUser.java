@@ -0,0 +1,95 @@
+package ui.webapp.route;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import ui.webapp.Logging;
+import ui.webapp.Profanity;
+import ui.webapp.execute.PatchExpression;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.UserItem;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class PatchUser implements Route {
+  public static final String RESOURCE = "/user/{user}";
+
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper;
+  private final UserClient userClient;
+  private final Profanity profanity;
+
+  public PatchUser(ObjectMapper mapper, UserClient userClient, Profanity profanity) {
+    this.mapper = mapper;
+    this.userClient = userClient;
+    this.profanity = profanity;
+  }
+
+  @Override
+  public CompletableFuture<ApiResponse> handle(ApiRequest request) {
+    log.info("patch user {} {}", RESOURCE, request.pathParameter("user"));
+
+    final PatchExpression patch;
+    try {
+      var body = mapper.readTree(request.body() == null ? "" : request.body());
+      if (profanity.matches(body.path("username").textValue()) || profanity.matches(body.path("settings").path("theme").textValue()))
+        throw new IllegalArgumentException("profanity in username or theme");
+
+      patch = PatchExpression.compile(body, Instant.now());
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      log.error("patch user not ok {} {}", e.getMessage(), RESOURCE);
+      return CompletableFuture.completedFuture(ApiResponse.status(400));
+    }
+
+    if (patch.isEmpty())
+      return unchanged(request.pathParameter("user"));
+
+    return userClient.patch(request.pathParameter("user"), patch)
+      .thenApply(response -> {
+        if (response == null)
+          return ApiResponse.status(400);
+
+        log.info("patch user ok {} {}", RESOURCE, request.pathParameter("user"));
+        var attributes = AttributeValue.builder().m(response).build();
+        return ApiResponse.ok(generator -> UserItem.write(attributes, generator));
+      })
+      .exceptionally(e -> {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ConditionalCheckFailedException) {
+          log.error("patch user not found {} {}", RESOURCE, request.pathParameter("user"));
+          return ApiResponse.status(404);
+        }
+
+        log.error("patch user not ok {} {}", e.getMessage(), RESOURCE);
+        return ApiResponse.status(400);
+      });
+  }
+
+  private CompletableFuture<ApiResponse> unchanged(String user) {
+    return userClient.item(user, true)
+      .thenApply(response -> {
+        if (response == null)
+          return ApiResponse.status(400);
+
+        if (response.isEmpty()) {
+          log.error("patch user not found {} {}", RESOURCE, user);
+          return ApiResponse.status(404);
+        }
+
+        log.info("patch user unchanged {} {}", RESOURCE, user);
+        return ApiResponse.ok(generator -> UserItem.write(response, generator));
+      });
+  }
+
+  @Override
+  public Set<String> dependencies() {
+    return Set.of(DYNAMODB);
+  }
+}
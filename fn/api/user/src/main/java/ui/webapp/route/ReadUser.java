@@ -0,0 +1,47 @@
+package ui.webapp.route;
+
+import org.apache.logging.log4j.Logger;
+import ui.webapp.Logging;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.UserItem;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public class ReadUser implements Route {
+  public static final String RESOURCE = "/user/{user}";
+
+  private final Logger log = Logging.handler();
+  private final UserClient userClient;
+
+  public ReadUser(UserClient userClient) {
+    this.userClient = userClient;
+  }
+
+  @Override
+  public CompletableFuture<ApiResponse> handle(ApiRequest request) {
+    log.info("get user {} {}", RESOURCE, request.pathParameter("user"));
+
+    return userClient.item(request.pathParameter("user"), consistent(request))
+      .thenApply(response -> {
+        log.info("get user ok {} {}", RESOURCE, request.pathParameter("user"));
+        return ApiResponse.ok(generator -> UserItem.write(response, generator));
+      })
+      .exceptionally(e -> {
+        log.error("get user not ok {} {}", e.getMessage(), RESOURCE);
+        return ApiResponse.status(400);
+      });
+  }
+
+  private static boolean consistent(ApiRequest request) {
+    var cacheControl = request.header("Cache-Control");
+    return cacheControl != null && cacheControl.toLowerCase().contains("no-cache");
+  }
+
+  @Override
+  public Set<String> dependencies() {
+    return Set.of(DYNAMODB);
+  }
+}
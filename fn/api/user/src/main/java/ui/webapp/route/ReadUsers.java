@@ -0,0 +1,71 @@
+package ui.webapp.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+import ui.webapp.Logging;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.UserItem;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.BatchUserRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static ui.webapp.JsonUtil.fromJson;
+
+public class ReadUsers implements Route {
+  public static final String RESOURCE = "/users/batch";
+  public static final String ADMIN_GROUP = "admin";
+
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper;
+  private final UserClient userClient;
+  private final long maxIds;
+
+  public ReadUsers(ObjectMapper mapper, UserClient userClient, long maxIds) {
+    this.mapper = mapper;
+    this.userClient = userClient;
+    this.maxIds = maxIds;
+  }
+
+  @Override
+  public CompletableFuture<ApiResponse> handle(ApiRequest request) {
+    log.info("batch get users {}", RESOURCE);
+
+    if (!request.groups().contains(ADMIN_GROUP)) {
+      log.error("batch get users not ok caller not in {} group {}", ADMIN_GROUP, RESOURCE);
+      return CompletableFuture.completedFuture(ApiResponse.status(403));
+    }
+
+    var b = request.body() == null ? null : fromJson(mapper, request.body(), BatchUserRequest.class);
+    if (b == null || b.ids() == null || b.ids().isEmpty() || b.ids().size() > maxIds || b.ids().stream().anyMatch(Objects::isNull)) {
+      log.error("batch get users not ok invalid ids {}", RESOURCE);
+      return CompletableFuture.completedFuture(ApiResponse.status(400));
+    }
+
+    return userClient.batch(b.ids())
+      .thenApply(response -> {
+        if (response == null)
+          return ApiResponse.status(400);
+
+        log.info("batch get users ok {} {}", RESOURCE, response.size());
+        return ApiResponse.ok(generator -> {
+          generator.writeStartArray();
+          for (var item : response)
+            UserItem.write(item, generator);
+          generator.writeEndArray();
+        });
+      })
+      .exceptionally(e -> {
+        log.error("batch get users not ok {} {}", e.getMessage(), RESOURCE);
+        return ApiResponse.status(400);
+      });
+  }
+
+  @Override
+  public Set<String> dependencies() {
+    return Set.of(DYNAMODB);
+  }
+}
@@ -0,0 +1,18 @@
+package ui.webapp.route;
+
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public interface Route {
+  String DYNAMODB = "dynamodb";
+  String COGNITO = "cognito-idp";
+
+  CompletableFuture<ApiResponse> handle(ApiRequest request);
+
+  default Set<String> dependencies() {
+    return Set.of();
+  }
+}
@@ -0,0 +1,42 @@
+package ui.webapp.route;
+
+import org.apache.logging.log4j.Logger;
+import ui.webapp.Logging;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public class UnsubscribeUser implements Route {
+  public static final String RESOURCE = "/user/{user}/unsubscribe";
+
+  private final Logger log = Logging.handler();
+  private final UserClient userClient;
+
+  public UnsubscribeUser(UserClient userClient) {
+    this.userClient = userClient;
+  }
+
+  @Override
+  public CompletableFuture<ApiResponse> handle(ApiRequest request) {
+    log.info("delete user {} {}", RESOURCE, request.pathParameter("user"));
+
+    return userClient.unsubscribe(request.pathParameter("user"), request.issuer())
+      .thenApply(response -> {
+        boolean ok = response;
+        log.info("delete user ok {} {}", RESOURCE, ok);
+        return ApiResponse.ok(generator -> generator.writeBoolean(ok));
+      })
+      .exceptionally(e -> {
+        log.error("delete user not ok {} {}", e.getMessage(), RESOURCE);
+        return ApiResponse.status(400);
+      });
+  }
+
+  @Override
+  public Set<String> dependencies() {
+    return Set.of(DYNAMODB, COGNITO);
+  }
+}
@@ -0,0 +1,63 @@
+package ui.webapp.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+import ui.webapp.Logging;
+import ui.webapp.Profanity;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.User;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UpdateUserRequest;
+import ui.webapp.model.response.ApiResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static ui.webapp.JsonUtil.fromJson;
+import static ui.webapp.JsonUtil.writer;
+
+public class UpdateUser implements Route {
+  public static final String RESOURCE = "/user/{user}";
+
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper;
+  private final UserClient userClient;
+  private final Profanity profanity;
+
+  public UpdateUser(ObjectMapper mapper, UserClient userClient, Profanity profanity) {
+    this.mapper = mapper;
+    this.userClient = userClient;
+    this.profanity = profanity;
+  }
+
+  @Override
+  public CompletableFuture<ApiResponse> handle(ApiRequest request) {
+    log.info("put user {} {}", RESOURCE, request.pathParameter("user"));
+
+    var b = request.body() == null ? null : fromJson(mapper, request.body(), UpdateUserRequest.class);
+    if (b == null) {
+      log.error("put user not ok missing body {} {}", RESOURCE, request.pathParameter("user"));
+      return CompletableFuture.completedFuture(ApiResponse.status(400));
+    }
+
+    if (profanity.matches(b.username()) || b.settings() != null && profanity.matches(b.settings().theme())) {
+      log.error("put user not ok profanity {} {}", RESOURCE, request.pathParameter("user"));
+      return CompletableFuture.completedFuture(ApiResponse.status(400));
+    }
+
+    return userClient.update(request.pathParameter("user"), b)
+      .thenApply(response -> {
+        log.info("put user ok {} {}", RESOURCE, request.pathParameter("user"));
+        return ApiResponse.ok(generator -> writer(mapper, User.class).writeValue(generator, response));
+      })
+      .exceptionally(e -> {
+        log.error("put user not ok {} {}", e.getMessage(), RESOURCE);
+        return ApiResponse.status(400);
+      });
+  }
+
+  @Override
+  public Set<String> dependencies() {
+    return Set.of(DYNAMODB);
+  }
+}
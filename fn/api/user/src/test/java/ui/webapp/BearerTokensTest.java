@@ -0,0 +1,89 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BearerTokensTest {
+  private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_test";
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final KeyPair signing = keyPair();
+  private final AtomicInteger fetches = new AtomicInteger();
+  private final BearerTokens tokens = new BearerTokens(mapper, ISSUER, () -> {
+    fetches.incrementAndGet();
+    return Map.<String, PublicKey>of("current", signing.getPublic());
+  }, Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  void acceptsASignedTokenAndReadsItsGroups() throws Exception {
+    var claims = tokens.verify("Bearer " + token("current", ISSUER, NOW.plusSeconds(60), signing));
+
+    assertEquals(Optional.of(new BearerTokens.Claims(ISSUER, Set.of("admin", "free"))), claims);
+  }
+
+  @Test
+  void rejectsForeignExpiredAndTamperedTokens() throws Exception {
+    var other = keyPair();
+
+    assertTrue(tokens.verify(null).isEmpty());
+    assertTrue(tokens.verify("Basic dXNlcjpwYXNz").isEmpty());
+    assertTrue(tokens.verify("Bearer not.a.jwt").isEmpty());
+    assertTrue(tokens.verify("Bearer " + token("current", ISSUER + "x", NOW.plusSeconds(60), signing)).isEmpty());
+    assertTrue(tokens.verify("Bearer " + token("current", ISSUER, NOW.minusSeconds(1), signing)).isEmpty());
+    assertTrue(tokens.verify("Bearer " + token("current", ISSUER, NOW.plusSeconds(60), other)).isEmpty());
+  }
+
+  @Test
+  void refetchesKeysForAnUnknownKidAtMostOncePerInterval() throws Exception {
+    tokens.verify("Bearer " + token("rotated", ISSUER, NOW.plusSeconds(60), signing));
+    tokens.verify("Bearer " + token("rotated", ISSUER, NOW.plusSeconds(60), signing));
+
+    assertEquals(1, fetches.get());
+  }
+
+  private String token(String kid, String issuer, Instant expires, KeyPair key) throws Exception {
+    var header = encode(mapper.writeValueAsBytes(Map.of("alg", "RS256", "kid", kid)));
+    var payload = encode(mapper.writeValueAsBytes(Map.of(
+      "iss", issuer,
+      "token_use", "id",
+      "exp", expires.getEpochSecond(),
+      "cognito:groups", new String[]{"admin", "free"})));
+
+    var signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(key.getPrivate());
+    signature.update((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+    return header + "." + payload + "." + encode(signature.sign());
+  }
+
+  private static String encode(byte[] bytes) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static KeyPair keyPair() {
+    try {
+      var generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      return generator.generateKeyPair();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package ui.webapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigTest {
+
+  @Test
+  void acceptsEitherAPoolIdOrAPoolName() {
+    assertDoesNotThrow(() -> config("user", "us-west-2_pool", null, 500, Duration.ofSeconds(1), 8080));
+    assertDoesNotThrow(() -> config("user", null, "userpool", 500, Duration.ofSeconds(1), 8080));
+  }
+
+  @Test
+  void requiresTheTableAndAUserPool() {
+    var error = assertThrows(IllegalStateException.class, () -> config(" ", null, null, 500, Duration.ofSeconds(1), 8080));
+
+    assertEquals("invalid configuration [" + Env.DYNAMODB_USER_TABLE + " is required, "
+      + Env.USER_POOL_ID + " or " + Env.USER_POOL_NAME + " is required]", error.getMessage());
+  }
+
+  @Test
+  void reportsEveryInvalidSetting() {
+    var error = assertThrows(IllegalStateException.class, () -> config("user", "us-west-2_pool", null, 0, Duration.ofSeconds(5), 70000));
+
+    assertTrue(error.getMessage().contains(Env.USER_BATCH_MAX_IDS + " must be positive"), error.getMessage());
+    assertTrue(error.getMessage().contains(Env.USER_READ_ATTEMPT_TIMEOUT_MILLIS + " must be positive and at most " + Env.USER_READ_TIMEOUT_MILLIS), error.getMessage());
+    assertTrue(error.getMessage().contains(Env.SERVER_PORT + " must be a port"), error.getMessage());
+  }
+
+  private static Config config(String table, String poolId, String poolName, long batchMaxIds, Duration readAttemptTimeout, int port) {
+    return new Config(
+      table,
+      poolId,
+      poolName,
+      Duration.ofHours(1),
+      Duration.ofSeconds(30),
+      1024,
+      Duration.ofSeconds(10),
+      batchMaxIds,
+      readAttemptTimeout,
+      Duration.ofSeconds(3),
+      20,
+      "127.0.0.1",
+      port,
+      256);
+  }
+}
@@ -0,0 +1,19 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserPrimingTest {
+
+  @Test
+  void exercisesEveryRouteAgainstStubs() {
+    var priming = new UserPriming(JsonMapper.builder().build());
+
+    // GET, GET no-cache, PUT, PATCH, batch POST, DELETE all succeed, the unmatched resource is a 404
+    assertEquals(List.of(200, 200, 200, 200, 200, 200, 404), priming.prime());
+  }
+}
@@ -0,0 +1,51 @@
+package ui.webapp.execute;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatchExpressionTest {
+  private static final Instant UPDATED = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void registersOnlyNamesUsedByTheExpression() throws IOException {
+    var patch = compile("""
+      {"phone":null,"settings":{"theme":"dark","mfa":{}}}""");
+
+    assertEquals("SET #settings.#theme = :v0, #updated = :v1 REMOVE #phone", patch.updateExpression());
+    assertEquals(Map.of("#phone", "phone", "#settings", "settings", "#theme", "theme", "#updated", "updated"), patch.names());
+    assertEquals(2, patch.values().size());
+  }
+
+  @Test
+  void treatsEmptyObjectsAsANoOp() throws IOException {
+    assertTrue(compile("{}").isEmpty());
+    assertTrue(compile("""
+      {"settings":{}}""").isEmpty());
+    assertTrue(compile("""
+      {"settings":{"mfa":{}}}""").isEmpty());
+  }
+
+  @Test
+  void rejectsUnknownAndUnremovableFields() {
+    assertThrows(IllegalArgumentException.class, () -> compile("""
+      {"settings":{"colour":"red"}}"""));
+    assertThrows(IllegalArgumentException.class, () -> compile("""
+      {"username":null}"""));
+    assertThrows(IllegalArgumentException.class, () -> compile("""
+      {"settings":{"subscription":"PLATINUM"}}"""));
+  }
+
+  private PatchExpression compile(String json) throws IOException {
+    return PatchExpression.compile(mapper.readTree(json), UPDATED);
+  }
+}
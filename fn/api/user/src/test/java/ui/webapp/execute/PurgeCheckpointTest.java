@@ -0,0 +1,32 @@
+package ui.webapp.execute;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PurgeCheckpointTest {
+
+  @Test
+  void persistsFailedIdsWithThePosition(@TempDir Path directory) {
+    var checkpoint = new PurgeCheckpoint(directory.resolve("purge.checkpoint"));
+    assertEquals(new PurgeCheckpoint.State(0, List.of()), checkpoint.load());
+
+    checkpoint.save(200, List.of("user-7", "user-42"));
+
+    assertEquals(new PurgeCheckpoint.State(200, List.of("user-7", "user-42")), checkpoint.load());
+  }
+
+  @Test
+  void readsCheckpointsWithoutFailures(@TempDir Path directory) throws IOException {
+    var path = directory.resolve("purge.checkpoint");
+    Files.writeString(path, "100");
+
+    assertEquals(new PurgeCheckpoint.State(100, List.of()), new PurgeCheckpoint(path).load());
+  }
+}
@@ -0,0 +1,18 @@
+package ui.webapp.execute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+  @Test
+  void backsOffOncePerThrottlingBurst() {
+    var bucket = new TokenBucket(64, 64);
+
+    for (var i = 0; i < 32; i++)
+      bucket.onThrottle();
+
+    assertEquals(32, bucket.rate(), 0.001);
+  }
+}
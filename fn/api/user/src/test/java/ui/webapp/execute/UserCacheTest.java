@@ -0,0 +1,48 @@
+package ui.webapp.execute;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.Metrics;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserCacheTest {
+  private final UserCache cache = new UserCache(10, Duration.ofMinutes(1));
+
+  @AfterEach
+  void discard() {
+    Metrics.discard();
+  }
+
+  @Test
+  void keepsTheUpdatedItemWhenAnOlderReadLandsAfterIt() {
+    cache.put(item("dark", "2026-01-01T00:00:01.5Z"));
+    cache.offer(item("light", "2026-01-01T00:00:01Z"));
+
+    assertEquals("dark", theme());
+  }
+
+  @Test
+  void acceptsReadsThatAreNewerOrUncached() {
+    cache.offer(item("light", "2026-01-01T00:00:00Z"));
+    assertEquals("light", theme());
+
+    cache.offer(item("dark", "2026-01-01T00:00:02Z"));
+    assertEquals("dark", theme());
+  }
+
+  private String theme() {
+    return cache.get("someone").orElseThrow().get("theme").s();
+  }
+
+  private static Map<String, AttributeValue> item(String theme, String updated) {
+    return Map.of(
+      "id", AttributeValue.builder().s("someone").build(),
+      "theme", AttributeValue.builder().s(theme).build(),
+      "updated", AttributeValue.builder().s(updated).build());
+  }
+}
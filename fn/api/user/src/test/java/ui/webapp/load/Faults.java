@@ -0,0 +1,59 @@
+package ui.webapp.load;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public record Faults(Latency latency, double throttleRate) {
+  private static final Executor COMPLETIONS = Executors.newFixedThreadPool(4, runnable -> {
+    var thread = new Thread(runnable, "in-memory-completion");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public interface Latency {
+    long nanos(ThreadLocalRandom random);
+
+    static Latency none() {
+      return random -> 0;
+    }
+
+    static Latency fixed(Duration latency) {
+      return random -> latency.toNanos();
+    }
+
+    static Latency uniform(Duration min, Duration max) {
+      return random -> random.nextLong(min.toNanos(), max.toNanos() + 1);
+    }
+
+    static Latency logNormal(Duration median, double sigma) {
+      var mu = Math.log(median.toNanos());
+      return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+  }
+
+  public static Faults none() {
+    return new Faults(Latency.none(), 0);
+  }
+
+  <T> CompletableFuture<T> apply(Supplier<T> operation, Supplier<RuntimeException> throttled) {
+    var random = ThreadLocalRandom.current();
+    var delay = latency.nanos(random);
+    var throttle = random.nextDouble() < throttleRate;
+    Supplier<T> outcome = throttle ? () -> { throw throttled.get(); } : operation;
+
+    if (delay <= 0) {
+      try {
+        return CompletableFuture.completedFuture(outcome.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    return CompletableFuture.supplyAsync(outcome, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, COMPLETIONS));
+  }
+}
@@ -0,0 +1,105 @@
+package ui.webapp.load;
+
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUserPoolsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUserPoolsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.TooManyRequestsException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserPoolDescriptionType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class InMemoryCognito implements CognitoIdentityProviderAsyncClient {
+  private final Map<String, Set<String>> users = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+  private final String userPoolId;
+  private final String userPoolName;
+  private final Faults faults;
+
+  public InMemoryCognito(String userPoolId, String userPoolName, Faults faults) {
+    this.userPoolId = userPoolId;
+    this.userPoolName = userPoolName;
+    this.faults = faults;
+  }
+
+  public void seed(String username) {
+    users.put(username, ConcurrentHashMap.newKeySet());
+  }
+
+  public boolean exists(String username) {
+    return users.containsKey(username);
+  }
+
+  public Map<String, Long> calls() {
+    var snapshot = new HashMap<String, Long>();
+    calls.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+    return snapshot;
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public CompletableFuture<ListUserPoolsResponse> listUserPools(ListUserPoolsRequest request) {
+    return call("ListUserPools", () -> ListUserPoolsResponse.builder()
+      .userPools(UserPoolDescriptionType.builder().id(userPoolId).name(userPoolName).build())
+      .build());
+  }
+
+  @Override
+  public CompletableFuture<AdminListGroupsForUserResponse> adminListGroupsForUser(AdminListGroupsForUserRequest request) {
+    return call("AdminListGroupsForUser", () -> AdminListGroupsForUserResponse.builder()
+      .groups(groups(request.username()).stream().map(group -> GroupType.builder().groupName(group).build()).toList())
+      .build());
+  }
+
+  @Override
+  public CompletableFuture<AdminAddUserToGroupResponse> adminAddUserToGroup(AdminAddUserToGroupRequest request) {
+    return call("AdminAddUserToGroup", () -> {
+      groups(request.username()).add(request.groupName());
+      return AdminAddUserToGroupResponse.builder().build();
+    });
+  }
+
+  @Override
+  public CompletableFuture<AdminDeleteUserResponse> adminDeleteUser(AdminDeleteUserRequest request) {
+    return call("AdminDeleteUser", () -> {
+      groups(request.username());
+      users.remove(request.username());
+      return AdminDeleteUserResponse.builder().build();
+    });
+  }
+
+  private Set<String> groups(String username) {
+    var groups = users.get(username);
+    if (groups == null)
+      throw UserNotFoundException.builder().message("User does not exist.").statusCode(400).build();
+    return groups;
+  }
+
+  private <T> CompletableFuture<T> call(String operation, Supplier<T> body) {
+    calls.computeIfAbsent(operation, ignored -> new LongAdder()).increment();
+    return faults.apply(body, () -> TooManyRequestsException.builder()
+      .message("in-memory throttle " + operation)
+      .statusCode(400)
+      .build());
+  }
+}
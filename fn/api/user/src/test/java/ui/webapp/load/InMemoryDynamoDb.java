@@ -0,0 +1,302 @@
+package ui.webapp.load;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public class InMemoryDynamoDb implements DynamoDbAsyncClient {
+  private static final String KEY = "id";
+  private static final Set<String> CONDITIONS = Set.of("attribute_exists(" + KEY + ")", "attribute_not_exists(" + KEY + ")");
+  private static final Pattern PATH = Pattern.compile("#?\\w+(?:\\.#?\\w+)*");
+  private static final Pattern ASSIGNMENT = Pattern.compile("(" + PATH + ") = (:\\w+)");
+
+  // a parsed update expression, value is null for a REMOVE
+  private record Assignment(String[] path, AttributeValue value) {}
+
+  private final Map<String, Map<String, Map<String, AttributeValue>>> tables = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+  private final Faults faults;
+
+  public InMemoryDynamoDb(Faults faults) {
+    this.faults = faults;
+  }
+
+  public void seed(String table, Map<String, AttributeValue> item) {
+    table(table).put(item.get(KEY).s(), Map.copyOf(item));
+  }
+
+  public Map<String, AttributeValue> item(String table, String id) {
+    return table(table).get(id);
+  }
+
+  public Map<String, Long> calls() {
+    var snapshot = new HashMap<String, Long>();
+    calls.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+    return snapshot;
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+    return call("GetItem", () -> {
+      if (request.projectionExpression() != null)
+        throw unsupported("projection expression " + request.projectionExpression());
+
+      var item = table(request.tableName()).get(request.key().get(KEY).s());
+      return item == null ? GetItemResponse.builder().build() : GetItemResponse.builder().item(item).build();
+    });
+  }
+
+  @Override
+  public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+    return call("PutItem", () -> {
+      condition(request.conditionExpression());
+      unused("ExpressionAttributeNames", request.expressionAttributeNames().keySet(), Set.of());
+      unused("ExpressionAttributeValues", request.expressionAttributeValues().keySet(), Set.of());
+      table(request.tableName()).compute(request.item().get(KEY).s(), (key, current) -> {
+        check(request.conditionExpression(), current);
+        return Map.copyOf(request.item());
+      });
+      return PutItemResponse.builder().build();
+    });
+  }
+
+  @Override
+  public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+    return call("UpdateItem", () -> {
+      var id = request.key().get(KEY).s();
+      condition(request.conditionExpression());
+      var assignments = parse(request);
+      var updated = new AtomicReference<Map<String, AttributeValue>>();
+
+      table(request.tableName()).compute(id, (key, current) -> {
+        check(request.conditionExpression(), current);
+        var item = new HashMap<>(current == null ? request.key() : current);
+        for (var assignment : assignments)
+          write(item, assignment.path(), 0, assignment.value());
+        updated.set(Map.copyOf(item));
+        return updated.get();
+      });
+
+      var attributes = switch (request.returnValues() == null ? ReturnValue.NONE : request.returnValues()) {
+        case ALL_NEW -> updated.get();
+        case UPDATED_NEW -> {
+          var partial = new HashMap<String, AttributeValue>();
+          for (var assignment : assignments) {
+            var name = assignment.path()[0];
+            if (updated.get().containsKey(name))
+              partial.put(name, updated.get().get(name));
+          }
+          yield partial;
+        }
+        default -> Map.<String, AttributeValue>of();
+      };
+
+      return UpdateItemResponse.builder().attributes(attributes).build();
+    });
+  }
+
+  @Override
+  public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+    return call("DeleteItem", () -> {
+      condition(request.conditionExpression());
+      unused("ExpressionAttributeNames", request.expressionAttributeNames().keySet(), Set.of());
+      unused("ExpressionAttributeValues", request.expressionAttributeValues().keySet(), Set.of());
+      table(request.tableName()).compute(request.key().get(KEY).s(), (key, current) -> {
+        check(request.conditionExpression(), current);
+        return null;
+      });
+      return DeleteItemResponse.builder().build();
+    });
+  }
+
+  @Override
+  public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+    return call("BatchGetItem", () -> {
+      var responses = new HashMap<String, List<Map<String, AttributeValue>>>();
+      request.requestItems().forEach((name, keys) -> {
+        if (keys.projectionExpression() != null)
+          throw unsupported("projection expression " + keys.projectionExpression());
+
+        var table = table(name);
+        responses.put(name, keys.keys().stream()
+          .map(key -> table.get(key.get(KEY).s()))
+          .filter(Objects::nonNull)
+          .toList());
+      });
+      return BatchGetItemResponse.builder().responses(responses).build();
+    });
+  }
+
+  private <T> CompletableFuture<T> call(String operation, Supplier<T> body) {
+    calls.computeIfAbsent(operation, ignored -> new LongAdder()).increment();
+    return faults.apply(body, () -> ProvisionedThroughputExceededException.builder()
+      .message("in-memory throttle " + operation)
+      .statusCode(400)
+      .build());
+  }
+
+  private Map<String, Map<String, AttributeValue>> table(String name) {
+    return tables.computeIfAbsent(name, ignored -> new ConcurrentHashMap<>());
+  }
+
+  // only the key conditions the routes send are modelled, anything else would silently pass
+  private static void condition(String condition) {
+    if (condition != null && !CONDITIONS.contains(condition))
+      throw unsupported("condition expression " + condition);
+  }
+
+  private static void check(String condition, Map<String, AttributeValue> current) {
+    if (condition == null)
+      return;
+
+    var exists = current != null;
+    if (condition.equals("attribute_exists(" + KEY + ")") && !exists
+      || condition.equals("attribute_not_exists(" + KEY + ")") && exists)
+      throw ConditionalCheckFailedException.builder().message("The conditional request failed").statusCode(400).build();
+  }
+
+  private static List<Assignment> parse(UpdateItemRequest request) {
+    var expression = request.updateExpression();
+    if (expression == null)
+      throw unsupported("an update without an update expression");
+
+    var remove = expression.indexOf(" REMOVE ");
+    String sets;
+    String removes;
+    if (expression.startsWith("SET ")) {
+      sets = remove < 0 ? expression.substring("SET ".length()) : expression.substring("SET ".length(), remove);
+      removes = remove < 0 ? null : expression.substring(remove + " REMOVE ".length());
+    } else if (expression.startsWith("REMOVE ")) {
+      sets = null;
+      removes = expression.substring("REMOVE ".length());
+    } else {
+      throw unsupported("update expression " + expression);
+    }
+
+    var names = request.expressionAttributeNames();
+    var values = request.expressionAttributeValues();
+    var usedNames = new HashSet<String>();
+    var usedValues = new HashSet<String>();
+    var assignments = new ArrayList<Assignment>();
+
+    if (sets != null) {
+      for (var clause : sets.split(",")) {
+        var matcher = ASSIGNMENT.matcher(clause.trim());
+        if (!matcher.matches())
+          throw unsupported("update clause " + clause.trim());
+
+        var placeholder = matcher.group(2);
+        if (!values.containsKey(placeholder))
+          throw validation("An expression attribute value used in expression is not defined; attribute value: " + placeholder);
+
+        usedValues.add(placeholder);
+        assignments.add(new Assignment(path(matcher.group(1), names, usedNames), values.get(placeholder)));
+      }
+    }
+
+    if (removes != null) {
+      for (var target : removes.split(",")) {
+        if (!PATH.matcher(target.trim()).matches())
+          throw unsupported("remove clause " + target.trim());
+        assignments.add(new Assignment(path(target.trim(), names, usedNames), null));
+      }
+    }
+
+    unused("ExpressionAttributeNames", names.keySet(), usedNames);
+    unused("ExpressionAttributeValues", values.keySet(), usedValues);
+    return assignments;
+  }
+
+  private static String[] path(String expression, Map<String, String> names, Set<String> used) {
+    var segments = expression.split("\\.");
+    for (var i = 0; i < segments.length; i++) {
+      if (!segments[i].startsWith("#"))
+        continue;
+
+      var name = names.get(segments[i]);
+      if (name == null)
+        throw validation("An expression attribute name used in the document path is not defined; attribute name: " + segments[i]);
+
+      used.add(segments[i]);
+      segments[i] = name;
+    }
+    return segments;
+  }
+
+  private static void unused(String parameter, Set<String> provided, Set<String> used) {
+    var unused = new HashSet<>(provided);
+    unused.removeAll(used);
+    if (!unused.isEmpty())
+      throw validation("Value provided in " + parameter + " unused in expressions: keys: " + unused);
+  }
+
+  private static DynamoDbException validation(String message) {
+    return (DynamoDbException) DynamoDbException.builder()
+      .message(message)
+      .statusCode(400)
+      .awsErrorDetails(AwsErrorDetails.builder()
+        .errorCode("ValidationException")
+        .errorMessage(message)
+        .serviceName("DynamoDb")
+        .build())
+      .build();
+  }
+
+  private static UnsupportedOperationException unsupported(String what) {
+    return new UnsupportedOperationException("in-memory dynamodb does not model " + what);
+  }
+
+  private static void write(Map<String, AttributeValue> map, String[] path, int depth, AttributeValue value) {
+    var name = path[depth];
+    if (depth == path.length - 1) {
+      if (value == null)
+        map.remove(name);
+      else
+        map.put(name, value);
+      return;
+    }
+
+    var nested = map.get(name);
+    var copy = new HashMap<String, AttributeValue>();
+    if (nested != null && nested.hasM())
+      copy.putAll(nested.m());
+    write(copy, path, depth + 1, value);
+    map.put(name, AttributeValue.builder().m(copy).build());
+  }
+}
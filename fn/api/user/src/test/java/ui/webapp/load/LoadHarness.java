@@ -0,0 +1,246 @@
+package ui.webapp.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import ui.webapp.ApiDependencyFactory;
+import ui.webapp.Metrics;
+import ui.webapp.Priming;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.Tracing;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.execute.UserPoolResolver;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UserJsonModule;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadHarness {
+  static final String TABLE = "load";
+  static final String USER_POOL_ID = "us-west-2_load";
+
+  private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/" + USER_POOL_ID;
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"load","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"}}""";
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+  public record Options(int users, int requests, int concurrency, int getPercent, int putPercent, Faults faults) {
+
+    static Options parse(String[] args) {
+      var values = new HashMap<String, String>();
+      for (var i = 0; i + 1 < args.length; i += 2) {
+        if (!args[i].startsWith("--"))
+          throw new IllegalArgumentException("unexpected argument " + args[i]);
+        values.put(args[i].substring(2), args[i + 1]);
+      }
+
+      var median = Duration.ofMillis(Long.parseLong(values.getOrDefault("median-millis", "5")));
+      var sigma = Double.parseDouble(values.getOrDefault("sigma", "0.5"));
+      return new Options(
+        Integer.parseInt(values.getOrDefault("users", "1000")),
+        Integer.parseInt(values.getOrDefault("requests", "100000")),
+        Integer.parseInt(values.getOrDefault("concurrency", "1000")),
+        Integer.parseInt(values.getOrDefault("get-percent", "80")),
+        Integer.parseInt(values.getOrDefault("put-percent", "15")),
+        new Faults(
+          median.isZero() ? Faults.Latency.none() : Faults.Latency.logNormal(median, sigma),
+          Double.parseDouble(values.getOrDefault("throttle-rate", "0.01"))));
+    }
+  }
+
+  public record Report(
+    long requests,
+    Duration elapsed,
+    Map<Integer, Long> statuses,
+    Histogram latency,
+    long allocatedBytes,
+    long collections,
+    Duration collectionTime,
+    Map<String, Long> dynamoDbCalls,
+    Map<String, Long> cognitoCalls) {
+
+    public double throughput() {
+      return requests / (elapsed.toNanos() / 1e9);
+    }
+
+    public double allocationRate() {
+      return allocatedBytes / 1048576.0 / (elapsed.toNanos() / 1e9);
+    }
+
+    public long bytesPerRequest() {
+      return requests == 0 ? 0 : allocatedBytes / requests;
+    }
+
+    public double percentile(double percentile) {
+      return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String summary() {
+      return String.format(Locale.ROOT, """
+          requests     %d in %d ms
+          throughput   %.1f req/s
+          latency ms   p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f
+          statuses     %s
+          allocation   %.1f MB/s  %d bytes/request
+          gc           %d collections  %d ms
+          dynamodb     %s
+          cognito-idp  %s""",
+        requests, elapsed.toMillis(),
+        throughput(),
+        percentile(50), percentile(90), percentile(99), percentile(99.9), latency.getMaxValue() / 1000.0,
+        new TreeMap<>(statuses),
+        allocationRate(), bytesPerRequest(),
+        collections, collectionTime.toMillis(),
+        new TreeMap<>(dynamoDbCalls),
+        new TreeMap<>(cognitoCalls));
+    }
+  }
+
+  private LoadHarness() {}
+
+  public static void main(String[] args) throws InterruptedException {
+    System.out.println(run(Options.parse(args)).summary());
+  }
+
+  public static Report run(Options options) throws InterruptedException {
+    Configurator.setRootLevel(Level.OFF);
+    Tracing.exporter(null);
+
+    var mapper = SharedDependencyFactory.objectMapper(new UserJsonModule());
+    var dynamoDb = new InMemoryDynamoDb(options.faults());
+    var cognito = new InMemoryCognito(USER_POOL_ID, "load", options.faults());
+    var orchestrate = orchestrate(mapper, dynamoDb, cognito, options.users());
+
+    for (var i = 0; i < options.users(); i++)
+      seed(dynamoDb, cognito, "user-" + i);
+
+    var requests = plan(options, dynamoDb, cognito);
+    var recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, 3);
+    var statuses = new ConcurrentHashMap<Integer, LongAdder>();
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var allocatedBefore = threads.getTotalThreadAllocatedBytes();
+    var collectionsBefore = collections();
+    var collectionTimeBefore = collectionTime();
+    var started = System.nanoTime();
+
+    run(orchestrate, mapper, requests, options.concurrency(), recorder, statuses);
+
+    var elapsed = Duration.ofNanos(System.nanoTime() - started);
+    var counts = new HashMap<Integer, Long>();
+    statuses.forEach((status, count) -> counts.put(status, count.sum()));
+    Metrics.discard();
+
+    return new Report(
+      requests.size(),
+      elapsed,
+      counts,
+      recorder.getIntervalHistogram(),
+      threads.getTotalThreadAllocatedBytes() - allocatedBefore,
+      collections() - collectionsBefore,
+      Duration.ofMillis(collectionTime() - collectionTimeBefore),
+      dynamoDb.calls(),
+      cognito.calls());
+  }
+
+  static Orchestrate orchestrate(ObjectMapper mapper, InMemoryDynamoDb dynamoDb, InMemoryCognito cognito, int users) {
+    return new Orchestrate(mapper, new UserClient(
+      dynamoDb,
+      () -> cognito,
+      new UserPoolResolver(() -> cognito, null, "load", Duration.ofMinutes(5), Duration.ofSeconds(30)),
+      new UserCache(users, Duration.ofSeconds(10)),
+      new Hedge(Duration.ofSeconds(1), Duration.ofSeconds(3)),
+      TABLE), ApiDependencyFactory.profanityFilter(), 500);
+  }
+
+  private static void run(
+    Orchestrate orchestrate,
+    ObjectMapper mapper,
+    List<ApiRequest> requests,
+    int concurrency,
+    Recorder recorder,
+    Map<Integer, LongAdder> statuses) throws InterruptedException {
+
+    var permits = new Semaphore(concurrency);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var request : requests) {
+        permits.acquire();
+        executor.execute(() -> {
+          try {
+            var started = System.nanoTime();
+            var status = status(orchestrate, mapper, request);
+            recorder.recordValue(Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started))));
+            statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+  }
+
+  private static int status(Orchestrate orchestrate, ObjectMapper mapper, ApiRequest request) {
+    try {
+      return orchestrate.response(request).join().event(mapper).getStatusCode();
+    } catch (RuntimeException e) {
+      return 500;
+    }
+  }
+
+  private static List<ApiRequest> plan(Options options, InMemoryDynamoDb dynamoDb, InMemoryCognito cognito) {
+    var random = ThreadLocalRandom.current();
+    var requests = new ArrayList<ApiRequest>(options.requests());
+    for (var i = 0; i < options.requests(); i++) {
+      var user = "user-" + random.nextInt(options.users());
+      var roll = random.nextInt(100);
+
+      if (roll < options.getPercent()) {
+        var headers = random.nextInt(4) == 0 ? Map.of("Cache-Control", "no-cache") : Map.<String, String>of();
+        requests.add(request("GET", "/user/{user}", user, headers, null));
+      } else if (roll < options.getPercent() + options.putPercent()) {
+        requests.add(request("PUT", "/user/{user}", user, Map.of(), UPDATE));
+      } else {
+        var churn = "churn-" + i;
+        seed(dynamoDb, cognito, churn);
+        requests.add(request("DELETE", "/user/{user}/unsubscribe", churn, Map.of(), null));
+      }
+    }
+
+    return requests;
+  }
+
+  static ApiRequest request(String method, String resource, String user, Map<String, String> headers, String body) {
+    return new ApiRequest(method, resource, Map.of("user", user), headers, body, ISSUER, Set.of());
+  }
+
+  static void seed(InMemoryDynamoDb dynamoDb, InMemoryCognito cognito, String id) {
+    dynamoDb.seed(TABLE, Priming.user(id).attributeValue());
+    cognito.seed(id);
+  }
+
+  private static long collections() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(gc -> Math.max(0, gc.getCollectionCount())).sum();
+  }
+
+  private static long collectionTime() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(gc -> Math.max(0, gc.getCollectionTime())).sum();
+  }
+}
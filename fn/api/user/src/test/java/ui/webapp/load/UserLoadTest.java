@@ -0,0 +1,68 @@
+package ui.webapp.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.model.request.UserJsonModule;
+import ui.webapp.route.PatchUser;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLoadTest {
+
+  @Test
+  void servesConcurrentTrafficThroughTheRealRoutes() throws InterruptedException {
+    var faults = new Faults(Faults.Latency.uniform(Duration.ZERO, Duration.ofMillis(2)), 0);
+    var report = LoadHarness.run(new LoadHarness.Options(200, 3000, 500, 70, 20, faults));
+
+    assertEquals(3000, report.requests());
+    assertEquals(Map.of(200, 3000L), report.statuses(), report.summary());
+    assertEquals(3000, report.latency().getTotalCount());
+    assertTrue(report.throughput() > 0, report.summary());
+    assertTrue(report.allocatedBytes() > 0, report.summary());
+    assertEquals(report.cognitoCalls().get("AdminDeleteUser"), report.dynamoDbCalls().get("DeleteItem"), report.summary());
+  }
+
+  @Test
+  void completesEveryRequestWhileDependenciesThrottle() throws InterruptedException {
+    var report = LoadHarness.run(new LoadHarness.Options(50, 2000, 200, 60, 20, new Faults(Faults.Latency.none(), 0.3)));
+
+    assertEquals(2000, report.statuses().values().stream().mapToLong(Long::longValue).sum(), report.summary());
+    assertTrue(report.statuses().getOrDefault(200, 0L) < 2000, report.summary());
+  }
+
+  @Test
+  void patchesNestedAttributesThroughTheRoute() {
+    var mapper = SharedDependencyFactory.objectMapper(new UserJsonModule());
+    var dynamoDb = new InMemoryDynamoDb(Faults.none());
+    var cognito = new InMemoryCognito(LoadHarness.USER_POOL_ID, "load", Faults.none());
+    var orchestrate = LoadHarness.orchestrate(mapper, dynamoDb, cognito, 10);
+    LoadHarness.seed(dynamoDb, cognito, "someone");
+
+    assertEquals(200, patch(orchestrate, mapper, "someone", """
+      {"phone":null,"settings":{"theme":"dark","mfa":{"enabled":true}}}"""));
+
+    var item = dynamoDb.item(LoadHarness.TABLE, "someone");
+    var settings = item.get("settings").m();
+    assertEquals("dark", settings.get("theme").s());
+    assertTrue(settings.get("mfa").m().get("enabled").bool());
+    assertFalse(settings.get("mfa").m().get("configured").bool());
+    assertFalse(item.containsKey("phone"));
+
+    assertEquals(404, patch(orchestrate, mapper, "missing", """
+      {"settings":{"theme":"dark"}}"""));
+    assertEquals(400, patch(orchestrate, mapper, "someone", """
+      {"settings":{"colour":"red"}}"""));
+  }
+
+  private static int patch(Orchestrate orchestrate, ObjectMapper mapper, String user, String body) {
+    var request = LoadHarness.request("PATCH", PatchUser.RESOURCE, user, Map.of(), body);
+    return orchestrate.response(request).join().event(mapper).getStatusCode();
+  }
+}
@@ -0,0 +1,72 @@
+package ui.webapp.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ui.webapp.ApiDependencyFactory;
+import ui.webapp.Metrics;
+import ui.webapp.Priming;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.load.Faults;
+import ui.webapp.load.InMemoryDynamoDb;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UserJsonModule;
+import ui.webapp.model.response.ApiResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PatchUserTest {
+  private static final String TABLE = "users";
+
+  private final ObjectMapper mapper = SharedDependencyFactory.objectMapper(new UserJsonModule());
+  private final InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb(Faults.none());
+  private final PatchUser route = new PatchUser(mapper, new UserClient(
+    dynamoDb,
+    () -> null,
+    null,
+    new UserCache(10, Duration.ofSeconds(10)),
+    new Hedge(Duration.ofSeconds(1), Duration.ofSeconds(3)),
+    TABLE), ApiDependencyFactory.profanityFilter());
+
+  @AfterEach
+  void discard() {
+    Metrics.discard();
+  }
+
+  @Test
+  void patchesNestedSettingsWithoutTouchingSiblings() throws Exception {
+    dynamoDb.seed(TABLE, Priming.user("someone").attributeValue());
+
+    var response = patch("""
+      {"settings":{"theme":"dark"}}""").event(mapper);
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals("dark", mapper.readTree(response.getBody()).path("settings").path("theme").textValue());
+
+    var settings = dynamoDb.item(TABLE, "someone").get("settings").m();
+    assertEquals("dark", settings.get("theme").s());
+    assertEquals("FREE", settings.get("subscription").s());
+    assertFalse(settings.get("mfa").m().get("enabled").bool());
+  }
+
+  @Test
+  void rejectsUnknownNestedFields() {
+    dynamoDb.seed(TABLE, Priming.user("someone").attributeValue());
+
+    assertEquals(400, patch("""
+      {"settings":{"mfa":{"colour":"red"}}}""").statusCode());
+  }
+
+  private ApiResponse patch(String body) {
+    var request = new ApiRequest("PATCH", PatchUser.RESOURCE, Map.of("user", "someone"), Map.of(), body, null, Set.of());
+    return route.handle(request).join();
+  }
+}
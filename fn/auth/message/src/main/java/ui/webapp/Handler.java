@@ -2,7 +2,9 @@ package ui.webapp;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import org.apache.logging.log4j.Logger;
 import ui.webapp.model.CognitoMessageEvent;
+import ui.webapp.model.MessageJsonModule;
 import ui.webapp.response.ForgotPasswordResponse;
 import ui.webapp.response.ResendCodeResponse;
 import ui.webapp.response.SignUpResponse;
@@ -10,30 +12,45 @@ import ui.webapp.response.UpdateUserAttributeResponse;
 import ui.webapp.response.VerifyUserAttributeResponse;
 
 public class Handler implements RequestHandler<CognitoMessageEvent, CognitoMessageEvent> {
+  private static final Priming PRIMING = Priming.register("message", new MessagePriming(SharedDependencyFactory.objectMapper(new MessageJsonModule())), () -> {});
+
+  private final Logger log = Logging.handler();
+
   @Override
   public CognitoMessageEvent handleRequest(CognitoMessageEvent event, Context context) {
+    Logging.begin(context);
+    Metrics.begin();
+    try {
+      return respond(event);
+    } finally {
+      Metrics.emit("message");
+      Logging.end();
+    }
+  }
+
+  private CognitoMessageEvent respond(CognitoMessageEvent event) {
     if (event.triggerSource().equals(TriggerSource.CustomMessage_SignUp.name())) {
-      context.getLogger().log("custom message signup");
+      log.info("custom message signup");
       return new SignUpResponse(event).get();
     }
 
     if (event.triggerSource().equals(TriggerSource.CustomMessage_ResendCode.name())) {
-      context.getLogger().log("custom message resend code");
+      log.info("custom message resend code");
       return new ResendCodeResponse(event).get();
     }
 
     if (event.triggerSource().equals(TriggerSource.CustomMessage_ForgotPassword.name())) {
-      context.getLogger().log("custom message forgot password");
+      log.info("custom message forgot password");
       return new ForgotPasswordResponse(event).get();
     }
 
     if (event.triggerSource().equals(TriggerSource.CustomMessage_UpdateUserAttribute.name())) {
-      context.getLogger().log("custom message update attribute");
+      log.info("custom message update attribute");
       return new UpdateUserAttributeResponse(event).get();
     }
 
     if (event.triggerSource().equals(TriggerSource.CustomMessage_VerifyUserAttribute.name())) {
-      context.getLogger().log("custom message verify attribute");
+      log.info("custom message verify attribute");
       return new VerifyUserAttributeResponse(event).get();
     }
 
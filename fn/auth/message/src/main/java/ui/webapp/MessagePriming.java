@@ -0,0 +1,47 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import ui.webapp.model.CognitoMessageEvent;
+import ui.webapp.response.ForgotPasswordResponse;
+import ui.webapp.response.ResendCodeResponse;
+import ui.webapp.response.SignUpResponse;
+import ui.webapp.response.UpdateUserAttributeResponse;
+import ui.webapp.response.VerifyUserAttributeResponse;
+
+public class MessagePriming implements Runnable {
+  private static final String EVENT = """
+    {
+      "version": "1",
+      "triggerSource": "CustomMessage_SignUp",
+      "region": "us-west-2",
+      "userPoolId": "us-west-2_prime",
+      "userName": "prime",
+      "callerContext": {"awsSdkVersion": "aws-sdk-unknown-unknown", "clientId": "prime"},
+      "request": {
+        "codeParameter": "{####}",
+        "usernameParameter": "prime",
+        "userAttributes": {"email": "prime@example.com", "preferred_username": "prime"},
+        "clientMetadata": {}
+      },
+      "response": {}
+    }""";
+
+  private final ObjectMapper mapper;
+
+  public MessagePriming(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  @Override
+  @SneakyThrows
+  public void run() {
+    var event = mapper.readValue(EVENT, CognitoMessageEvent.class);
+
+    mapper.writeValueAsBytes(new SignUpResponse(event).get());
+    mapper.writeValueAsBytes(new ResendCodeResponse(event).get());
+    mapper.writeValueAsBytes(new ForgotPasswordResponse(event).get());
+    mapper.writeValueAsBytes(new UpdateUserAttributeResponse(event).get());
+    mapper.writeValueAsBytes(new VerifyUserAttributeResponse(event).get());
+  }
+}
@@ -1,5 +1,8 @@
 package ui.webapp.model;
 
+import ui.webapp.codegen.JsonCodec;
+
+@JsonCodec
 public record CallerContext(
   String awsSdkVersion,
   String clientId
@@ -1,5 +1,8 @@
 package ui.webapp.model;
 
+import ui.webapp.codegen.JsonCodec;
+
+@JsonCodec
 public record CognitoMessageEvent(
   String version,
   String triggerSource,
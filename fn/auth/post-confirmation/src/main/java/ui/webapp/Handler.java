@@ -9,20 +9,39 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import ui.webapp.execute.Orchestrate;
 import ui.webapp.model.CognitoEvent;
 
+import java.util.Map;
+
 public class Handler implements RequestHandler<CognitoEvent, CognitoEvent> {
+  private static final Priming PRIMING = Priming.register("post-confirmation", new OnboardPriming(AuthDependencyFactory.objectMapper()), OnboardPriming::restore);
+
   private final Logger log = Logging.handler();
   private final ObjectMapper mapper;
   private final CognitoIdentityProviderAsyncClient cognitoIdentityClient;
   private final DynamoDbAsyncClient dynamoDbClient;
 
   public Handler() {
-    mapper = SharedDependencyFactory.objectMapper();
+    mapper = AuthDependencyFactory.objectMapper();
     cognitoIdentityClient = AuthDependencyFactory.cognitoIdentityProviderClient();
     dynamoDbClient = SharedDependencyFactory.dynamoDbAsyncClient();
   }
 
   public CognitoEvent handleRequest(CognitoEvent event, Context context) {
-    log.info("post-confirmation cognito event {}", event);
-    return Orchestrate.onboard(event, mapper, dynamoDbClient, cognitoIdentityClient);
+    Logging.begin(context);
+    Metrics.begin();
+    var span = Tracing.begin("post-confirmation", Map.of());
+    try (var scope = span.makeCurrent()) {
+      log.info("post-confirmation cognito event {} {}", event.triggerSource(), event.userName());
+      Logging.payload("post-confirmation cognito event", event, mapper);
+      span.setAttribute("cognito.trigger_source", String.valueOf(event.triggerSource()));
+      return Orchestrate.onboard(event, mapper, dynamoDbClient, cognitoIdentityClient);
+    } catch (RuntimeException e) {
+      Tracing.fail(span, e);
+      throw e;
+    } finally {
+      span.end();
+      Metrics.emit("post-confirmation");
+      LatencyRecorder.snapshotIfDue();
+      Logging.end();
+    }
   }
 }
@@ -0,0 +1,58 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.model.CognitoEvent;
+
+public class OnboardPriming implements Runnable {
+  private static final String EVENT = """
+    {
+      "version": 1,
+      "region": "us-west-2",
+      "userPoolId": "us-west-2_prime",
+      "triggerSource": "PostConfirmation_ConfirmSignUp",
+      "userName": "prime-new",
+      "callerContext": {"awsSdkVersion": "aws-sdk-unknown-unknown", "clientId": "prime"},
+      "request": {
+        "userAttributes": {
+          "email": "prime@example.com",
+          "email_verified": "true",
+          "phone_number": "+15555550100",
+          "phone_number_verified": "false",
+          "preferred_username": "prime",
+          "custom:terms": "true",
+          "custom:mfa": "{\\"enabled\\":false,\\"configured\\":false}",
+          "cognito:user_status": "CONFIRMED"
+        },
+        "clientMetadata": {"theme": "dark"}
+      },
+      "response": {}
+    }""";
+
+  private final ObjectMapper mapper;
+  private final DynamoDbAsyncClient dynamoDbClient = Priming.dynamoDb();
+  private final CognitoIdentityProviderAsyncClient cognitoClient = Priming.cognito();
+
+  public OnboardPriming(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  public static void restore() {
+    ClientRegistry.refreshCredentials();
+    ClientRegistry.warm(SharedDependencyFactory.dynamoDbAsyncClient());
+  }
+
+  @Override
+  @SneakyThrows
+  public void run() {
+    var created = mapper.readValue(EVENT, CognitoEvent.class);
+    Orchestrate.onboard(created, mapper, dynamoDbClient, cognitoClient);
+
+    var existing = mapper.readValue(EVENT.replace("prime-new", Priming.USER_ID), CognitoEvent.class);
+    Orchestrate.onboard(existing, mapper, dynamoDbClient, cognitoClient);
+    mapper.writeValueAsBytes(existing);
+  }
+}
@@ -0,0 +1,89 @@
+package ui.webapp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.Priming;
+import ui.webapp.model.Mfa;
+import ui.webapp.model.Settings;
+import ui.webapp.model.User;
+import ui.webapp.model.Verification;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeValueBenchmark {
+  private User user;
+  private Map<String, AttributeValue> userItem;
+  private Map<String, AttributeValue> settingsItem;
+  private Map<String, AttributeValue> mfaItem;
+  private Map<String, AttributeValue> verificationItem;
+
+  @Setup
+  public void setup() {
+    user = Priming.user();
+
+    userItem = user.attributeValue();
+    settingsItem = user.settings().attributeValue();
+    mfaItem = user.settings().mfa().attributeValue();
+    verificationItem = user.verification().attributeValue();
+
+    var read = User.from(userItem);
+    if (!user.settings().equals(read.settings()) || !user.verification().equals(read.verification()))
+      throw new IllegalStateException("user does not survive an item round trip");
+  }
+
+  @Benchmark
+  public User userFrom() {
+    return User.from(userItem);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> userAttributeValue() {
+    return user.attributeValue();
+  }
+
+  @Benchmark
+  public Settings settingsFrom() {
+    return Settings.from(settingsItem);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> settingsAttributeValue() {
+    return user.settings().attributeValue();
+  }
+
+  @Benchmark
+  public Mfa mfaFrom() {
+    return Mfa.from(mfaItem);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> mfaAttributeValue() {
+    return user.settings().mfa().attributeValue();
+  }
+
+  @Benchmark
+  public Verification verificationFrom() {
+    return Verification.from(verificationItem);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> verificationAttributeValue() {
+    return user.verification().attributeValue();
+  }
+}
@@ -0,0 +1,125 @@
+package ui.webapp.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+import ui.webapp.Logging;
+import ui.webapp.execute.UserClient;
+import ui.webapp.model.User;
+import ui.webapp.model.request.UpdateUserRequest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static ui.webapp.JsonUtil.fromJson;
+import static ui.webapp.JsonUtil.toJson;
+
+// the if-chain Orchestrate.response from before the route table, kept so RouteDispatchBenchmark measures the old path.
+// only the client wiring differs: get(id, consistent) is now item(id, consistent) and the client is passed in
+final class IfChainOrchestrate {
+  private final Logger log = Logging.handler();
+  private final ObjectMapper mapper;
+  private final UserClient userClient;
+
+  final static String READ_USER = "/user/{user}";
+  final static String UPDATE_USER = "/user/{user}";
+  final static String DELETE_USER = "/user/{user}/unsubscribe";
+
+  IfChainOrchestrate(ObjectMapper mapper, UserClient userClient) {
+    this.mapper = mapper;
+    this.userClient = userClient;
+  }
+
+  public CompletableFuture<APIGatewayProxyResponseEvent> response(APIGatewayProxyRequestEvent request) {
+    var parameters = request.getPathParameters();
+    var userId = parameters.get("user");
+
+    var headers = Map.of("Content-Type", "application/json");
+
+    if (request.getHttpMethod().equals("GET") && request.getResource().equals(READ_USER)) {
+      log.info("get user {}", request);
+
+      return userClient.item(userId, consistent(request)).thenApply(User::from)
+        .thenApply(response -> {
+          var body = toJson(response, mapper);
+          log.info("get user ok {} {}", READ_USER, body);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(200)
+            .withHeaders(headers)
+            .withBody(body);
+        })
+        .exceptionally(e -> {
+          log.error("get user not ok {} {}", e.getMessage(), READ_USER);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(400)
+            .withHeaders(headers);
+        });
+    } else if (request.getHttpMethod().equals("PUT") && request.getResource().equals(UPDATE_USER)) {
+      log.info("put user {} ", request);
+
+      var b = fromJson(mapper, request.getBody(), UpdateUserRequest.class);
+      return userClient.update(userId, b)
+        .thenApply(response -> {
+          var body = toJson(response, mapper);
+          log.info("put user ok {} {}", UPDATE_USER, body);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(200)
+            .withHeaders(headers)
+            .withBody(body);
+        })
+        .exceptionally(e -> {
+          log.error("put user not ok {} {}", e.getMessage(), UPDATE_USER);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(400)
+            .withHeaders(headers);
+        });
+    } else if (request.getHttpMethod().equals("DELETE") && request.getResource().equals(DELETE_USER)) {
+      log.info("delete user {}", request);
+
+      return userClient.unsubscribe(userId, issuer(request))
+        .thenApply(response -> {
+          var body = response.toString();
+          log.info("delete user ok {} {}", DELETE_USER, body);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(200)
+            .withHeaders(headers)
+            .withBody(body);
+        })
+        .exceptionally(e -> {
+          log.error("delete user not ok {} {}", e.getMessage(), DELETE_USER);
+          return new APIGatewayProxyResponseEvent()
+            .withStatusCode(400)
+            .withHeaders(headers);
+        });
+    } else {
+      return CompletableFuture.supplyAsync(() -> {
+        log.error("user api request not ok {}", request);
+        return new APIGatewayProxyResponseEvent()
+          .withStatusCode(400)
+          .withHeaders(headers);
+      });
+    }
+  }
+
+  private static boolean consistent(APIGatewayProxyRequestEvent request) {
+    return Optional.ofNullable(request.getHeaders())
+      .flatMap(headers -> headers.entrySet().stream()
+        .filter(header -> header.getKey().equalsIgnoreCase("Cache-Control"))
+        .map(Map.Entry::getValue)
+        .filter(value -> value != null && value.toLowerCase().contains("no-cache"))
+        .findFirst())
+      .isPresent();
+  }
+
+  private static String issuer(APIGatewayProxyRequestEvent request) {
+    return Optional.ofNullable(request.getRequestContext())
+      .map(APIGatewayProxyRequestEvent.ProxyRequestContext::getAuthorizer)
+      .map(authorizer -> authorizer.get("claims"))
+      .filter(Map.class::isInstance)
+      .map(claims -> ((Map<?, ?>) claims).get("iss"))
+      .map(Object::toString)
+      .orElse(null);
+  }
+}
@@ -0,0 +1,109 @@
+package ui.webapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.JsonUtil;
+import ui.webapp.Priming;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.model.SharedJsonModule;
+import ui.webapp.model.User;
+import ui.webapp.model.request.UpdateUserRequest;
+import ui.webapp.model.request.UserJsonModule;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"someone","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"}}""";
+
+  private final ObjectMapper reflective = JsonMapper.builder().build();
+  private final ObjectMapper generated = JsonMapper.builder()
+    .addModules(new SharedJsonModule(), new UserJsonModule())
+    .build();
+  private final ObjectMapper shared = SharedDependencyFactory.objectMapper(new UserJsonModule());
+
+  private User user;
+  private UpdateUserRequest update;
+  private byte[] json;
+  private ObjectWriter userWriter;
+  private ObjectReader userReader;
+  private ObjectReader updateReader;
+
+  @Setup
+  public void setup() throws IOException {
+    user = Priming.user();
+    json = reflective.writeValueAsBytes(user);
+    update = JsonUtil.fromJson(shared, UPDATE, UpdateUserRequest.class);
+
+    userWriter = JsonUtil.writer(generated, User.class);
+    userReader = JsonUtil.reader(generated, User.class);
+    updateReader = JsonUtil.reader(generated, UpdateUserRequest.class);
+
+    if (!Arrays.equals(json, userWriter.writeValueAsBytes(user)))
+      throw new IllegalStateException("generated serializer output differs from reflection");
+    if (!user.equals(userReader.readValue(json)))
+      throw new IllegalStateException("generated deserializer output differs from reflection");
+    if (!user.equals(roundTrip()))
+      throw new IllegalStateException("user does not survive a json round trip");
+  }
+
+  @Benchmark
+  public byte[] writeReflective() throws IOException {
+    return reflective.writeValueAsBytes(user);
+  }
+
+  @Benchmark
+  public byte[] writeGenerated() throws IOException {
+    return userWriter.writeValueAsBytes(user);
+  }
+
+  @Benchmark
+  public User readReflective() throws IOException {
+    return reflective.readValue(json, User.class);
+  }
+
+  @Benchmark
+  public User readGenerated() throws IOException {
+    return userReader.readValue(json);
+  }
+
+  @Benchmark
+  public UpdateUserRequest readRequestReflective() throws IOException {
+    return reflective.readValue(UPDATE, UpdateUserRequest.class);
+  }
+
+  @Benchmark
+  public UpdateUserRequest readRequestGenerated() throws IOException {
+    return updateReader.readValue(UPDATE);
+  }
+
+  @Benchmark
+  public User roundTrip() {
+    return JsonUtil.fromJson(shared, JsonUtil.toJson(user, shared), User.class);
+  }
+
+  @Benchmark
+  public UpdateUserRequest requestRoundTrip() {
+    return JsonUtil.fromJson(shared, JsonUtil.toJson(update, shared), UpdateUserRequest.class);
+  }
+}
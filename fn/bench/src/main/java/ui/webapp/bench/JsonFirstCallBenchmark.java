@@ -0,0 +1,45 @@
+package ui.webapp.bench;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.model.SharedJsonModule;
+import ui.webapp.model.User;
+import ui.webapp.model.request.UpdateUserRequest;
+import ui.webapp.model.request.UserJsonModule;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class JsonFirstCallBenchmark {
+  private static final String USER = """
+    {"id":"7d0bfa4e","email":"someone@example.com","phone":null,"username":"someone","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"},"verification":{"email":true,"phone":false,"terms":true,"status":"CONFIRMED"},"updated":"2025-01-01T00:00:00Z"}""";
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"someone","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"}}""";
+
+  @Benchmark
+  public byte[] reflective() throws IOException {
+    var mapper = JsonMapper.builder().build();
+    mapper.readValue(UPDATE, UpdateUserRequest.class);
+    return mapper.writeValueAsBytes(mapper.readValue(USER, User.class));
+  }
+
+  @Benchmark
+  public byte[] generated() throws IOException {
+    var mapper = JsonMapper.builder()
+      .addModules(new SharedJsonModule(), new UserJsonModule())
+      .build();
+    mapper.readValue(UPDATE, UpdateUserRequest.class);
+    return mapper.writeValueAsBytes(mapper.readValue(USER, User.class));
+  }
+}
@@ -0,0 +1,66 @@
+package ui.webapp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.model.CallerContext;
+import ui.webapp.model.CognitoMessageEvent;
+import ui.webapp.model.MessageRequest;
+import ui.webapp.response.ForgotPasswordResponse;
+import ui.webapp.response.SignUpResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+  private CognitoMessageEvent signUp;
+  private CognitoMessageEvent forgotPassword;
+
+  @Setup
+  public void setup() {
+    signUp = event("CustomMessage_SignUp");
+    forgotPassword = event("CustomMessage_ForgotPassword");
+
+    if (!new SignUpResponse(signUp).get().response().emailMessage().contains("someone"))
+      throw new IllegalStateException("sign up template did not render the username");
+  }
+
+  @Benchmark
+  public CognitoMessageEvent signUp() {
+    return new SignUpResponse(signUp).get();
+  }
+
+  @Benchmark
+  public CognitoMessageEvent forgotPassword() {
+    return new ForgotPasswordResponse(forgotPassword).get();
+  }
+
+  private static CognitoMessageEvent event(String triggerSource) {
+    return new CognitoMessageEvent(
+      "1",
+      triggerSource,
+      "us-west-2",
+      "us-west-2_bench",
+      "7d0bfa4e-35a5-4a2f-9d0e-0d4b1a6f3c21",
+      new CallerContext("aws-sdk-unknown-unknown", "bench"),
+      new MessageRequest(
+        "{####}",
+        "someone",
+        Map.of("email", "someone@example.com", "preferred_username", "someone"),
+        Map.of()),
+      null);
+  }
+}
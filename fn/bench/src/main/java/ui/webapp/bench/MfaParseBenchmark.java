@@ -0,0 +1,52 @@
+package ui.webapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.JsonUtil;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.model.Mfa;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MfaParseBenchmark {
+  private static final String MFA = "{\"enabled\":true,\"configured\":false}";
+
+  private final ObjectMapper mapper = SharedDependencyFactory.objectMapper();
+
+  private ObjectReader reader;
+
+  @Setup
+  public void setup() throws IOException {
+    reader = JsonUtil.reader(mapper, Mfa.class);
+
+    if (!Mfa.from(mapper, MFA).equals(reader.readValue(MFA)))
+      throw new IllegalStateException("tree parse differs from the direct reader");
+  }
+
+  @Benchmark
+  public Mfa tree() {
+    return Mfa.from(mapper, MFA);
+  }
+
+  @Benchmark
+  public Mfa reader() throws IOException {
+    return reader.readValue(MFA);
+  }
+}
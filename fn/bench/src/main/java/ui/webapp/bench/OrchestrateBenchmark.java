@@ -0,0 +1,99 @@
+package ui.webapp.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.ApiDependencyFactory;
+import ui.webapp.Metrics;
+import ui.webapp.Priming;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.Tracing;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.execute.UserPoolResolver;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UserJsonModule;
+import ui.webapp.route.ReadUsers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrchestrateBenchmark {
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"someone","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"}}""";
+  private static final String BATCH = """
+    {"ids":["prime","missing"]}""";
+
+  @Param({"GET /user/{user}", "PUT /user/{user}", "DELETE /user/{user}/unsubscribe", "POST /users/batch"})
+  public String request;
+
+  private final ObjectMapper mapper = SharedDependencyFactory.objectMapper(new UserJsonModule());
+
+  private ApiRequest apiRequest;
+  private Orchestrate orchestrate;
+
+  @Setup
+  public void setup() {
+    Configurator.setRootLevel(Level.OFF);
+    Tracing.exporter(null);
+
+    var cognito = Priming.cognito();
+    var userClient = new UserClient(
+      Priming.dynamoDb(),
+      () -> cognito,
+      new UserPoolResolver(() -> cognito, "us-west-2_bench", null, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+      new UserCache(1024, Duration.ofMinutes(5)),
+      new Hedge(Duration.ofSeconds(1), Duration.ofSeconds(3)),
+      "bench");
+    orchestrate = new Orchestrate(mapper, userClient, ApiDependencyFactory.profanityFilter(), 500);
+
+    var parts = request.split(" ");
+    apiRequest = new ApiRequest(
+      parts[0],
+      parts[1],
+      Map.of("user", Priming.USER_ID),
+      Map.of("Cache-Control", "no-cache"),
+      switch (parts[0]) {
+        case "PUT" -> UPDATE;
+        case "POST" -> BATCH;
+        default -> null;
+      },
+      "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_bench",
+      Set.of(ReadUsers.ADMIN_GROUP));
+
+    var status = dispatch().getStatusCode();
+    if (status != 200)
+      throw new IllegalStateException(request + " answered " + status);
+  }
+
+  @Benchmark
+  public APIGatewayProxyResponseEvent dispatch() {
+    try {
+      return orchestrate.response(apiRequest).join().event(mapper);
+    } finally {
+      Metrics.discard();
+    }
+  }
+}
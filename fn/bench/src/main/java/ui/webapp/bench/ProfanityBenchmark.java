@@ -0,0 +1,62 @@
+package ui.webapp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.ApiDependencyFactory;
+import ui.webapp.Profanity;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfanityBenchmark {
+
+  @Param({"someone", "dark", "a perfectly ordinary display name for a settings page", "xxmotherfuckerxx"})
+  public String text;
+
+  private List<String> words;
+  private Profanity profanity;
+
+  @Setup
+  public void setup() {
+    words = ApiDependencyFactory.profanity();
+    profanity = ApiDependencyFactory.profanityFilter();
+  }
+
+  @Benchmark
+  public boolean automaton() {
+    return profanity.matches(text);
+  }
+
+  @Benchmark
+  public boolean contains() {
+    var lower = text.toLowerCase(Locale.ROOT);
+    for (var word : words) {
+      if (lower.contains(word))
+        return true;
+    }
+    return false;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Profanity compile() {
+    return Profanity.compile(words);
+  }
+}
@@ -0,0 +1,111 @@
+package ui.webapp.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.webapp.ApiDependencyFactory;
+import ui.webapp.Metrics;
+import ui.webapp.Priming;
+import ui.webapp.SharedDependencyFactory;
+import ui.webapp.Tracing;
+import ui.webapp.execute.Hedge;
+import ui.webapp.execute.Orchestrate;
+import ui.webapp.execute.UserCache;
+import ui.webapp.execute.UserClient;
+import ui.webapp.execute.UserPoolResolver;
+import ui.webapp.model.request.ApiRequest;
+import ui.webapp.model.request.UserJsonModule;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteDispatchBenchmark {
+  private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_bench";
+  private static final String UPDATE = """
+    {"phone":"+15555550100","username":"someone","settings":{"mfa":{"enabled":true,"configured":true},"theme":"dark","subscription":"FREE"}}""";
+
+  @Param({"GET /user/{user}", "PUT /user/{user}", "DELETE /user/{user}/unsubscribe", "POST /user/{user}"})
+  public String request;
+
+  private final ObjectMapper mapper = SharedDependencyFactory.objectMapper(new UserJsonModule());
+
+  private APIGatewayProxyRequestEvent event;
+  private ApiRequest apiRequest;
+  private Orchestrate orchestrate;
+  private IfChainOrchestrate chain;
+
+  @Setup
+  public void setup() {
+    Configurator.setRootLevel(Level.OFF);
+    Tracing.exporter(null);
+
+    var cognito = Priming.cognito();
+    var userClient = new UserClient(
+      Priming.dynamoDb(),
+      () -> cognito,
+      new UserPoolResolver(() -> cognito, "us-west-2_bench", null, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+      new UserCache(1024, Duration.ofMinutes(5)),
+      new Hedge(Duration.ofSeconds(1), Duration.ofSeconds(3)),
+      "bench");
+    orchestrate = new Orchestrate(mapper, userClient, ApiDependencyFactory.profanityFilter(), 500);
+    chain = new IfChainOrchestrate(mapper, userClient);
+
+    var parts = request.split(" ");
+    var body = parts[0].equals("PUT") ? UPDATE : null;
+    var headers = Map.of("Cache-Control", "no-cache");
+    event = new APIGatewayProxyRequestEvent()
+      .withHttpMethod(parts[0])
+      .withResource(parts[1])
+      .withPathParameters(Map.of("user", Priming.USER_ID))
+      .withHeaders(headers)
+      .withBody(body)
+      .withRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext()
+        .withAuthorizer(Map.<String, Object>of("claims", Map.of("iss", ISSUER))));
+    apiRequest = new ApiRequest(parts[0], parts[1], Map.of("user", Priming.USER_ID), headers, body, ISSUER, Set.of());
+
+    // the unmatched request answers 405 from the table and 400 from the old chain
+    var matched = !parts[0].equals("POST");
+    expect("table", table().getStatusCode(), matched ? 200 : 405);
+    expect("chain", chain().getStatusCode(), matched ? 200 : 400);
+  }
+
+  @Benchmark
+  public APIGatewayProxyResponseEvent table() {
+    try {
+      return orchestrate.response(apiRequest).join().event(mapper);
+    } finally {
+      Metrics.discard();
+    }
+  }
+
+  @Benchmark
+  public APIGatewayProxyResponseEvent chain() {
+    return chain.response(event).join();
+  }
+
+  private void expect(String path, int status, int expected) {
+    if (status != expected)
+      throw new IllegalStateException(request + " answered " + status + " on the " + path + " path");
+  }
+}
@@ -0,0 +1,59 @@
+package ui.webapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.Priming;
+import ui.webapp.model.User;
+import ui.webapp.model.UserItem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserItemBenchmark {
+  private final ObjectMapper mapper = JsonMapper.builder().build();
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+
+  private Map<String, AttributeValue> item;
+
+  @Setup
+  public void setup() throws IOException {
+    item = Priming.user().attributeValue();
+
+    if (!Arrays.equals(records(), codec()))
+      throw new IllegalStateException("codec output differs from the record path");
+  }
+
+  @Benchmark
+  public byte[] records() throws IOException {
+    return mapper.writeValueAsBytes(User.from(item));
+  }
+
+  @Benchmark
+  public byte[] codec() throws IOException {
+    output.reset();
+    try (var generator = mapper.getFactory().createGenerator(output)) {
+      UserItem.write(item, generator);
+    }
+    return output.toByteArray();
+  }
+}
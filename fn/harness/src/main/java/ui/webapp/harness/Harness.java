@@ -0,0 +1,276 @@
+package ui.webapp.harness;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class Harness {
+  private static final String VERSION = "1.0.0-SNAPSHOT";
+  private static final List<String> PHASES = List.of("jvm", "factories", "handler", "response", "total");
+  private static final List<String> JVM_FLAGS = List.of(
+    "-XX:+TieredCompilation",
+    "-XX:TieredStopAtLevel=1",
+    "-XX:+UseSerialGC",
+    "-Xshare:auto");
+  private static final long TIMEOUT_SECONDS = 60;
+
+  static final List<Function> FUNCTIONS = List.of(
+    new Function(
+      "user",
+      "ui.webapp.Handler",
+      List.of("ui.webapp.SharedDependencyFactory", "ui.webapp.DependencyFactory"),
+      "api/user/target/api.fn.user-" + VERSION + ".jar",
+      "layer/api/target/api.fn.shared-" + VERSION + ".jar"),
+    new Function(
+      "post-confirmation",
+      "ui.webapp.Handler",
+      List.of("ui.webapp.SharedDependencyFactory", "ui.webapp.AuthDependencyFactory", "ui.webapp.ClientRegistry"),
+      "auth/post-confirmation/target/auth.fn.post-confirmation-" + VERSION + ".jar",
+      "layer/auth/target/auth.fn.shared-" + VERSION + ".jar"),
+    new Function(
+      "message",
+      "ui.webapp.Handler",
+      List.of("ui.webapp.SharedDependencyFactory"),
+      "auth/message/target/auth.fn.message-" + VERSION + ".jar",
+      "layer/auth/target/auth.fn.shared-" + VERSION + ".jar"));
+
+  record Function(String name, String handler, List<String> factories, String jar, String layer) {}
+
+  record Options(Path root, int runs, boolean cds, String label, Path out, String only) {
+
+    static Options parse(String[] args) {
+      var values = new HashMap<String, String>();
+      for (var i = 0; i + 1 < args.length; i += 2) {
+        if (!args[i].startsWith("--"))
+          throw new IllegalArgumentException("unexpected argument " + args[i]);
+        values.put(args[i].substring(2), args[i + 1]);
+      }
+
+      return new Options(
+        Path.of(values.getOrDefault("root", "..")).toAbsolutePath().normalize(),
+        Integer.parseInt(values.getOrDefault("runs", "10")),
+        Boolean.parseBoolean(values.getOrDefault("cds", "false")),
+        values.getOrDefault("label", "local"),
+        Path.of(values.getOrDefault("out", "target/cold-start.json")),
+        values.get("only"));
+    }
+  }
+
+  record Sample(Map<String, Long> micros, String status) {}
+
+  record Result(String function, boolean archived, List<Sample> samples) {
+
+    long percentile(String phase, double percentile) {
+      var sorted = samples.stream().mapToLong(sample -> sample.micros().get(phase)).sorted().toArray();
+      var rank = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, rank)];
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = Options.parse(args);
+    var self = self();
+    var results = new ArrayList<Result>();
+
+    try (var stub = StubEndpoint.start()) {
+      for (var function : FUNCTIONS) {
+        if (options.only() != null && !options.only().equals(function.name()))
+          continue;
+
+        stub.serve(function.name());
+        var launcher = new Launcher(options.root(), self, stub.url(), function);
+
+        if (options.cds()) {
+          launcher.train();
+          results.add(launcher.measure(options.runs(), false));
+          results.add(launcher.measure(options.runs(), true));
+        } else {
+          results.add(launcher.measure(options.runs(), false));
+        }
+      }
+    }
+
+    results.forEach(Harness::print);
+    if (options.cds())
+      gains(results);
+
+    Files.createDirectories(options.out().toAbsolutePath().getParent());
+    Files.writeString(options.out(), json(options, results));
+    System.out.println("cold start report " + options.out());
+  }
+
+  private static Path self() throws URISyntaxException {
+    var location = Path.of(Harness.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    if (!Files.isRegularFile(location))
+      throw new IllegalStateException("run the harness from its packaged jar, class data sharing does not archive classes from " + location);
+    return location;
+  }
+
+  private static void print(Result result) {
+    var line = new StringBuilder(String.format(Locale.ROOT, "%-18s cds=%-5s runs=%d", result.function(), result.archived(), result.samples().size()));
+    for (var phase : PHASES)
+      line.append(String.format(Locale.ROOT, " | %s p50 %.1f p90 %.1f ms", phase, millis(result.percentile(phase, 0.5)), millis(result.percentile(phase, 0.9))));
+
+    var failed = result.samples().stream().filter(sample -> !sample.status().equals("ok")).map(Sample::status).distinct().toList();
+    if (!failed.isEmpty())
+      line.append(" | status ").append(failed);
+
+    System.out.println(line);
+  }
+
+  private static void gains(List<Result> results) {
+    for (var i = 0; i + 1 < results.size(); i += 2) {
+      var baseline = results.get(i).percentile("total", 0.5);
+      var archived = results.get(i + 1).percentile("total", 0.5);
+      System.out.printf(Locale.ROOT, "%-18s cds gain p50 %.1f ms (%.1f%%)%n",
+        results.get(i).function(), millis(baseline - archived), 100.0 * (baseline - archived) / baseline);
+    }
+  }
+
+  private static String json(Options options, List<Result> results) {
+    var json = new StringBuilder()
+      .append("{\"label\":\"").append(options.label())
+      .append("\",\"timestamp\":\"").append(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+      .append("\",\"runs\":").append(options.runs())
+      .append(",\"functions\":[");
+
+    for (var i = 0; i < results.size(); i++) {
+      var result = results.get(i);
+      json.append(i == 0 ? "" : ",")
+        .append("{\"name\":\"").append(result.function())
+        .append("\",\"cds\":").append(result.archived());
+
+      for (var phase : PHASES)
+        json.append(",\"").append(phase).append("\":{")
+          .append(String.format(Locale.ROOT, "\"p50\":%.3f,\"p90\":%.3f,\"max\":%.3f",
+            millis(result.percentile(phase, 0.5)), millis(result.percentile(phase, 0.9)), millis(result.percentile(phase, 1.0))))
+          .append('}');
+
+      json.append('}');
+    }
+
+    return json.append("]}\n").toString();
+  }
+
+  static Map<String, String> environment(String endpoint, Function function) {
+    return Map.of(
+      "AWS_DEFAULT_REGION", "us-west-2",
+      "AWS_REGION", "us-west-2",
+      "AWS_ACCESS_KEY_ID", "harness",
+      "AWS_SECRET_ACCESS_KEY", "harness",
+      "AWS_ENDPOINT_URL", endpoint,
+      "AWS_LAMBDA_FUNCTION_NAME", function.name(),
+      "DYNAMODB_USER_TABLE", "harness-user",
+      "USER_POOL_ID", "us-west-2_harness",
+      "USER_POOL_NAME", "harness-userpool");
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  private record Launcher(Path root, Path self, String endpoint, Function function) {
+
+    Path jar() {
+      return root.resolve(function.jar());
+    }
+
+    Path archive() {
+      var jar = jar().getFileName().toString();
+      return jar().resolveSibling(jar.substring(0, jar.length() - ".jar".length()) + ".jsa");
+    }
+
+    void train() throws IOException, InterruptedException {
+      Files.deleteIfExists(archive());
+      run(List.of("-XX:ArchiveClassesAtExit=" + archive()));
+
+      if (!Files.isRegularFile(archive()))
+        throw new IllegalStateException("training run for " + function.name() + " did not produce " + archive());
+      System.out.println("archived " + function.name() + " " + archive() + " " + Files.size(archive()) / 1024 + " KiB");
+    }
+
+    Result measure(int runs, boolean archived) throws IOException, InterruptedException {
+      var flags = archived ? List.of("-XX:SharedArchiveFile=" + archive()) : List.<String>of();
+      var samples = new ArrayList<Sample>(runs);
+      for (var i = 0; i < runs; i++)
+        samples.add(run(flags));
+      return new Result(function.name(), archived, samples);
+    }
+
+    private Sample run(List<String> flags) throws IOException, InterruptedException {
+      var layer = root.resolve(function.layer());
+      for (var required : List.of(jar(), layer)) {
+        if (!Files.isRegularFile(required))
+          throw new IllegalStateException("missing " + required + ", package the functions and layers first");
+      }
+
+      var command = new ArrayList<String>();
+      command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+      command.addAll(JVM_FLAGS);
+      command.addAll(flags);
+      command.addAll(List.of(
+        "-cp", self.toString(),
+        Probe.class.getName()));
+
+      var launched = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+      command.addAll(List.of(Long.toString(launched), function.name(), function.handler(), String.join(",", function.factories()),
+        jar().toString(), layer.toString()));
+
+      var builder = new ProcessBuilder(command).redirectErrorStream(true);
+      builder.environment().putAll(environment(endpoint, function));
+      var process = builder.start();
+      var output = new ArrayList<String>();
+      String probe = null;
+      try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+          if (line.startsWith(Probe.MARKER + " "))
+            probe = line;
+          else
+            output.add(line);
+        }
+      }
+
+      if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+        throw new IllegalStateException(function.name() + " did not exit within " + TIMEOUT_SECONDS + "s");
+      }
+
+      var total = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()) - launched;
+      if (probe == null)
+        throw new IllegalStateException(function.name() + " exited " + process.exitValue() + " without a probe line "
+          + output.subList(Math.max(0, output.size() - 20), output.size()));
+
+      return sample(probe, total);
+    }
+
+    private static Sample sample(String line, long total) {
+      var micros = new HashMap<String, Long>();
+      var status = "unknown";
+      var pairs = line.split(" ");
+      for (var pair : Arrays.copyOfRange(pairs, 1, pairs.length)) {
+        var split = pair.indexOf('=');
+        var key = pair.substring(0, split);
+        var value = pair.substring(split + 1);
+        if (key.equals("status"))
+          status = value;
+        else
+          micros.put(key, Long.parseLong(value));
+      }
+
+      micros.put("total", total);
+      return new Sample(micros, status);
+    }
+  }
+}
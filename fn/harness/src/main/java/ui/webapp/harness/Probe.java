@@ -0,0 +1,143 @@
+package ui.webapp.harness;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+public class Probe {
+  static final String MARKER = "PROBE";
+
+  private static final String RUNTIME = "com.amazonaws.services.lambda.runtime.";
+  private static final String DATABIND = "com.fasterxml.jackson.databind.";
+
+  public static void main(String[] args) throws Exception {
+    var entered = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    var launched = Long.parseLong(args[0]);
+    var function = args[1];
+    var handlerName = args[2];
+    var factories = args[3].split(",");
+
+    byte[] event;
+    try (var stream = Probe.class.getResourceAsStream("/events/" + function + ".json")) {
+      if (stream == null)
+        throw new IllegalArgumentException("no recorded event for " + function);
+      event = stream.readAllBytes();
+    }
+
+    // like the lambda runtime, the probe is the only application classpath entry and the function jar and its
+    // layer get their own loader, so everything the function exposes is reached reflectively through it
+    var loader = new URLClassLoader(function, urls(Arrays.copyOfRange(args, 4, args.length)), ClassLoader.getSystemClassLoader());
+    Thread.currentThread().setContextClassLoader(loader);
+
+    var started = System.nanoTime();
+    for (var factory : factories)
+      Class.forName(factory, true, loader);
+
+    var initialized = System.nanoTime();
+    var handler = Class.forName(handlerName, true, loader).getDeclaredConstructor().newInstance();
+
+    var constructed = System.nanoTime();
+    String status;
+    try {
+      var response = invoke(handler, event, function, loader);
+      status = response.length > 0 ? "ok" : "empty";
+    } catch (InvocationTargetException e) {
+      status = e.getCause().getClass().getSimpleName();
+    } catch (Exception e) {
+      status = e.getClass().getSimpleName();
+    }
+
+    var responded = System.nanoTime();
+    System.out.println(MARKER
+      + " jvm=" + (entered - launched)
+      + " factories=" + (initialized - started) / 1000
+      + " handler=" + (constructed - initialized) / 1000
+      + " response=" + (responded - constructed) / 1000
+      + " status=" + status);
+    System.out.flush();
+    System.exit(0);
+  }
+
+  private static URL[] urls(String[] paths) throws MalformedURLException {
+    var urls = new URL[paths.length];
+    for (var i = 0; i < paths.length; i++)
+      urls[i] = Path.of(paths[i]).toUri().toURL();
+    return urls;
+  }
+
+  private static byte[] invoke(Object handler, byte[] event, String function, ClassLoader loader) throws Exception {
+    var contextType = loader.loadClass(RUNTIME + "Context");
+    var context = proxy(contextType, context(function, loader));
+
+    var stream = loader.loadClass(RUNTIME + "RequestStreamHandler");
+    if (stream.isInstance(handler)) {
+      var output = new ByteArrayOutputStream();
+      stream.getMethod("handleRequest", InputStream.class, OutputStream.class, contextType)
+        .invoke(handler, new ByteArrayInputStream(event), output, context);
+      return output.toByteArray();
+    }
+
+    var request = loader.loadClass(RUNTIME + "RequestHandler");
+    var mapperType = loader.loadClass(DATABIND + "ObjectMapper");
+    var featureType = loader.loadClass(DATABIND + "DeserializationFeature");
+    var javaType = loader.loadClass(DATABIND + "JavaType");
+
+    var mapper = mapperType.getConstructor().newInstance();
+    mapperType.getMethod("configure", featureType, boolean.class)
+      .invoke(mapper, featureType.getField("FAIL_ON_UNKNOWN_PROPERTIES").get(null), false);
+    var type = mapperType.getMethod("constructType", Type.class).invoke(mapper, inputType(handler.getClass(), request));
+    var input = mapperType.getMethod("readValue", byte[].class, javaType).invoke(mapper, event, type);
+    var output = request.getMethod("handleRequest", Object.class, contextType).invoke(handler, input, context);
+    return (byte[]) mapperType.getMethod("writeValueAsBytes", Object.class).invoke(mapper, output);
+  }
+
+  private static Type inputType(Class<?> type, Class<?> request) {
+    for (var generic : type.getGenericInterfaces()) {
+      if (generic instanceof ParameterizedType parameterized && parameterized.getRawType() == request)
+        return parameterized.getActualTypeArguments()[0];
+    }
+
+    throw new IllegalArgumentException(type.getName() + " is not a RequestHandler or RequestStreamHandler");
+  }
+
+  private static InvocationHandler context(String function, ClassLoader loader) throws ClassNotFoundException {
+    var logger = proxy(loader.loadClass(RUNTIME + "LambdaLogger"), (proxy, method, args) -> {
+      if (method.getName().equals("log"))
+        System.err.println(args[0] instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(args[0]));
+      return null;
+    });
+
+    return (proxy, method, args) -> switch (method.getName()) {
+      case "getAwsRequestId", "getLogStreamName" -> "harness";
+      case "getLogGroupName" -> "/aws/lambda/" + function;
+      case "getFunctionName" -> function;
+      case "getFunctionVersion" -> "$LATEST";
+      case "getInvokedFunctionArn" -> "arn:aws:lambda:us-west-2:000000000000:function:" + function;
+      case "getRemainingTimeInMillis" -> 60_000;
+      case "getMemoryLimitInMB" -> 256;
+      case "getLogger" -> logger;
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "equals" -> proxy == args[0];
+      case "toString" -> "ProbeContext[" + function + "]";
+      default -> null;
+    };
+  }
+
+  private static Object proxy(Class<?> type, InvocationHandler handler) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+  }
+}
@@ -0,0 +1,63 @@
+package ui.webapp.harness;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+class StubEndpoint implements AutoCloseable {
+  private static final byte[] EMPTY = "{}".getBytes();
+
+  private final HttpServer server;
+  private volatile String function;
+
+  private StubEndpoint(HttpServer server) {
+    this.server = server;
+  }
+
+  static StubEndpoint start() throws IOException {
+    var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    var endpoint = new StubEndpoint(server);
+    server.createContext("/", endpoint::handle);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.start();
+    return endpoint;
+  }
+
+  String url() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  void serve(String function) {
+    this.function = function;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+
+      var body = response(exchange.getRequestHeaders().getFirst("X-Amz-Target"));
+      exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.0");
+      exchange.sendResponseHeaders(200, body.length);
+      exchange.getResponseBody().write(body);
+    }
+  }
+
+  private byte[] response(String target) throws IOException {
+    if (target == null)
+      return EMPTY;
+
+    try (var stream = StubEndpoint.class.getResourceAsStream("/stub/" + function + "/" + target + ".json")) {
+      return stream == null ? EMPTY : stream.readAllBytes();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}
@@ -0,0 +1,58 @@
+package ui.webapp.harness;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeBootstrapIT {
+  private static final Path ROOT = Path.of(System.getProperty("harness.root", "..")).toAbsolutePath().normalize();
+  private static final Map<String, String> EXPECTED = Map.of(
+    "user", "\"statusCode\":200",
+    "post-confirmation", "\"userName\":\"prime\"",
+    "message", "\"emailSubject\":\"webapp verification\"");
+
+  static Stream<Harness.Function> functions() {
+    return Harness.FUNCTIONS.stream();
+  }
+
+  @ParameterizedTest
+  @MethodSource("functions")
+  void answersRecordedEvent(Harness.Function function) throws Exception {
+    var binary = ROOT.resolve(function.jar()).resolveSibling("bootstrap");
+    assertTrue(Files.isExecutable(binary), "missing native binary " + binary);
+
+    byte[] event;
+    try (var stream = NativeBootstrapIT.class.getResourceAsStream("/events/" + function.name() + ".json")) {
+      assertNotNull(stream, "missing recorded event for " + function.name());
+      event = stream.readAllBytes();
+    }
+
+    try (var stub = StubEndpoint.start(); var runtime = RuntimeApi.start(event)) {
+      stub.serve(function.name());
+
+      var builder = new ProcessBuilder(binary.toString())
+        .redirectErrorStream(true)
+        .redirectOutput(Redirect.INHERIT);
+      builder.environment().putAll(Harness.environment(stub.url(), function));
+      builder.environment().put("AWS_LAMBDA_RUNTIME_API", runtime.address());
+      builder.environment().put("_HANDLER", function.handler());
+
+      var process = builder.start();
+      try {
+        var response = runtime.response().get(30, TimeUnit.SECONDS);
+        assertTrue(response.contains(EXPECTED.get(function.name())), response);
+      } finally {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+}
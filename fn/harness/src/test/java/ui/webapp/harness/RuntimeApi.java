@@ -0,0 +1,83 @@
+package ui.webapp.harness;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class RuntimeApi implements AutoCloseable {
+  static final String REQUEST_ID = "8476a536-e9f4-11e8-9739-2dfe598c3fcd";
+
+  private final HttpServer server;
+  private final byte[] event;
+  private final AtomicBoolean delivered = new AtomicBoolean();
+  private final CountDownLatch closed = new CountDownLatch(1);
+  private final CompletableFuture<String> response = new CompletableFuture<>();
+
+  private RuntimeApi(HttpServer server, byte[] event) {
+    this.server = server;
+    this.event = event;
+  }
+
+  static RuntimeApi start(byte[] event) throws IOException {
+    var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    var api = new RuntimeApi(server, event);
+    server.createContext("/2018-06-01/runtime/", api::handle);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.start();
+    return api;
+  }
+
+  String address() {
+    return "127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  CompletableFuture<String> response() {
+    return response;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      var path = exchange.getRequestURI().getPath();
+      var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+      if (path.endsWith("/invocation/next")) {
+        if (!delivered.compareAndSet(false, true)) {
+          closed.await();
+          return;
+        }
+
+        var headers = exchange.getResponseHeaders();
+        headers.set("Lambda-Runtime-Aws-Request-Id", REQUEST_ID);
+        headers.set("Lambda-Runtime-Deadline-Ms", Long.toString(System.currentTimeMillis() + 60_000));
+        headers.set("Lambda-Runtime-Invoked-Function-Arn", "arn:aws:lambda:us-west-2:000000000000:function:harness");
+        headers.set("Lambda-Runtime-Trace-Id", "Root=1-5bef4de7-ad49b0e87f6ef6c87fc2e700;Parent=9a9197af755a6419;Sampled=1");
+        exchange.sendResponseHeaders(200, event.length);
+        exchange.getResponseBody().write(event);
+        return;
+      }
+
+      if (path.endsWith("/invocation/" + REQUEST_ID + "/response"))
+        response.complete(body);
+      else
+        response.completeExceptionally(new AssertionError(path + " " + body));
+
+      exchange.sendResponseHeaders(202, -1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    closed.countDown();
+    server.stop(0);
+  }
+}
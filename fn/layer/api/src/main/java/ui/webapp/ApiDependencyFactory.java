@@ -3,31 +3,44 @@ package ui.webapp;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 public class ApiDependencyFactory {
 
+  private static final Lazy<List<String>> PROFANITY = Lazy.of("profanity", ApiDependencyFactory::load);
+
+  private static final Lazy<Profanity> PROFANITY_FILTER = Lazy.of("profanity-filter", () -> Profanity.compile(profanity()));
+
   private ApiDependencyFactory() {}
 
   public static List<String> profanity() {
+    return PROFANITY.get();
+  }
+
+  public static Profanity profanityFilter() {
+    return PROFANITY_FILTER.get();
+  }
+
+  private static List<String> load() {
     final ArrayList<String> p;
 
     try (var inputStream = ApiDependencyFactory.class.getClassLoader().getResourceAsStream("profanity/en.txt");
-         var reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream)))) {
+         var reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream), StandardCharsets.UTF_8))) {
       p = new ArrayList<>(reader.lines().toList());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
 
     try (var inputStream = ApiDependencyFactory.class.getClassLoader().getResourceAsStream("profanity/es.txt");
-         var reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream)))) {
+         var reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream), StandardCharsets.UTF_8))) {
       p.addAll(reader.lines().toList());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
 
-    return p;
+    return List.copyOf(p);
   }
 }
@@ -0,0 +1,187 @@
+package ui.webapp;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeSet;
+
+public class Profanity {
+  private static final int SEPARATOR = -1;
+  private static final int EMBEDDED_LENGTH = 5;
+  private static final String LEET = "0o1i3e4a5s7t8b@a$s!i+t";
+  private static final int[] FOLD = fold();
+
+  private final int[] ascii;
+  private final int[] alphabet;
+  private final int symbols;
+  private final int[] transitions;
+  private final int[] depth;
+  private final boolean[] embedded;
+  private final int[] bounded;
+
+  private Profanity(int[] alphabet, int[] transitions, int[] depth, boolean[] embedded, int[] bounded) {
+    this.ascii = new int[128];
+    for (var i = 0; i < alphabet.length && alphabet[i] < ascii.length; i++)
+      ascii[alphabet[i]] = i + 1;
+
+    this.alphabet = alphabet;
+    this.symbols = alphabet.length + 1;
+    this.transitions = transitions;
+    this.depth = depth;
+    this.embedded = embedded;
+    this.bounded = bounded;
+  }
+
+  public static Profanity compile(Collection<String> words) {
+    var patterns = new ArrayList<int[]>(words.size());
+    var letters = new TreeSet<Integer>();
+    for (var word : words) {
+      var pattern = word.codePoints().map(Profanity::normalize).filter(c -> c != SEPARATOR).toArray();
+      if (pattern.length == 0)
+        continue;
+
+      patterns.add(pattern);
+      for (var c : pattern)
+        letters.add(c);
+    }
+
+    var alphabet = letters.stream().mapToInt(Integer::intValue).toArray();
+    var symbols = alphabet.length + 1;
+    var capacity = patterns.stream().mapToInt(pattern -> pattern.length).sum() + 1;
+    var transitions = new int[capacity * symbols];
+    var depth = new int[capacity];
+    var embedded = new boolean[capacity];
+    var bounded = new int[capacity];
+    Arrays.fill(transitions, SEPARATOR);
+
+    var states = 1;
+    for (var pattern : patterns) {
+      var state = 0;
+      for (var c : pattern) {
+        var slot = state * symbols + Arrays.binarySearch(alphabet, c) + 1;
+        if (transitions[slot] == SEPARATOR) {
+          depth[states] = depth[state] + 1;
+          transitions[slot] = states++;
+        }
+        state = transitions[slot];
+      }
+
+      if (pattern.length >= EMBEDDED_LENGTH || !Character.isLetterOrDigit(pattern[0]))
+        embedded[state] = true;
+      else
+        bounded[state] |= 1 << pattern.length;
+    }
+
+    link(transitions, symbols, states, embedded, bounded);
+    return new Profanity(
+      alphabet,
+      Arrays.copyOf(transitions, states * symbols),
+      Arrays.copyOf(depth, states),
+      Arrays.copyOf(embedded, states),
+      Arrays.copyOf(bounded, states));
+  }
+
+  private static void link(int[] transitions, int symbols, int states, boolean[] embedded, int[] bounded) {
+    var fail = new int[states];
+    var queue = new ArrayDeque<Integer>();
+    for (var symbol = 0; symbol < symbols; symbol++) {
+      var child = transitions[symbol];
+      if (child == SEPARATOR) {
+        transitions[symbol] = 0;
+      } else {
+        queue.add(child);
+      }
+    }
+
+    while (!queue.isEmpty()) {
+      var state = queue.poll();
+      embedded[state] |= embedded[fail[state]];
+      bounded[state] |= bounded[fail[state]];
+
+      for (var symbol = 0; symbol < symbols; symbol++) {
+        var slot = state * symbols + symbol;
+        var fallback = transitions[fail[state] * symbols + symbol];
+        if (transitions[slot] == SEPARATOR) {
+          transitions[slot] = fallback;
+        } else {
+          fail[transitions[slot]] = fallback;
+          queue.add(transitions[slot]);
+        }
+      }
+    }
+  }
+
+  public boolean matches(CharSequence text) {
+    if (text == null)
+      return false;
+
+    var state = 0;
+    var previous = SEPARATOR;
+    var boundary = true;
+    var pending = false;
+    var starts = 0L;
+
+    for (var i = 0; i < text.length(); ) {
+      var codePoint = Character.codePointAt(text, i);
+      i += Character.charCount(codePoint);
+
+      var c = normalize(codePoint);
+      if (c == SEPARATOR) {
+        boundary = true;
+        continue;
+      }
+
+      var next = transitions[state * symbols + symbol(c)];
+      if (c == previous && !boundary && depth[next] <= depth[state])
+        continue;
+
+      if (pending && boundary)
+        return true;
+
+      previous = c;
+      starts = starts << 1 | (boundary ? 1 : 0);
+      boundary = false;
+      state = next;
+
+      if (embedded[state])
+        return true;
+
+      pending = (bounded[state] >>> 1 & starts) != 0;
+    }
+
+    return pending;
+  }
+
+  private int symbol(int c) {
+    if (c < ascii.length)
+      return ascii[c];
+
+    var index = Arrays.binarySearch(alphabet, c);
+    return index < 0 ? 0 : index + 1;
+  }
+
+  static int normalize(int codePoint) {
+    if (codePoint < FOLD.length)
+      return FOLD[codePoint];
+
+    if (Character.isLetterOrDigit(codePoint))
+      return Character.toLowerCase(codePoint);
+
+    return Character.getType(codePoint) == Character.OTHER_SYMBOL ? codePoint : SEPARATOR;
+  }
+
+  private static int[] fold() {
+    var fold = new int[0x250];
+    for (var c = 0; c < fold.length; c++) {
+      var base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0);
+      fold[c] = Character.isLetterOrDigit(base) ? Character.toLowerCase(base) : SEPARATOR;
+    }
+
+    for (var i = 0; i < LEET.length(); i += 2)
+      fold[LEET.charAt(i)] = LEET.charAt(i + 1);
+
+    return fold;
+  }
+}
@@ -0,0 +1,46 @@
+package ui.webapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfanityTest {
+  private final Profanity profanity = ApiDependencyFactory.profanityFilter();
+
+  @Test
+  void matchesEveryListedWord() {
+    for (var word : ApiDependencyFactory.profanity())
+      assertTrue(profanity.matches(word), word);
+  }
+
+  @Test
+  void normalizesCaseAccentsLeetspeakAndRepeats() {
+    for (var text : List.of("FUCK", "fück", "f.u.c.k", "fuuuuuck", "$h!t", "ssshit", "b00bs", "a_s_s", "xxmotherfuckerxx"))
+      assertTrue(profanity.matches(text), text);
+  }
+
+  @Test
+  void requiresWordBoundariesForShortWords() {
+    for (var text : List.of("classic", "Scunthorpe", "cassandra", "hello world", "button", "peacock", "dark", "light"))
+      assertFalse(profanity.matches(text), text);
+
+    assertTrue(profanity.matches("big ass"));
+    assertTrue(profanity.matches("the-cunt"));
+  }
+
+  @Test
+  void compilesCustomWords() {
+    var custom = Profanity.compile(List.of("bad", "terrible", "😡"));
+
+    assertTrue(custom.matches("so BAD"));
+    assertTrue(custom.matches("notterriblexx"));
+    assertTrue(custom.matches("hi😡"));
+    assertFalse(custom.matches("badge"));
+    assertFalse(custom.matches("terribl"));
+    assertFalse(custom.matches(null));
+    assertFalse(custom.matches(""));
+  }
+}
@@ -1,21 +1,20 @@
 package ui.webapp;
 
-import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
-import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
-import software.amazon.awssdk.regions.Region;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import ui.webapp.model.AuthJsonModule;
 
 public class AuthDependencyFactory {
 
-  private static final CognitoIdentityProviderAsyncClient COGNITO_CLIENT = CognitoIdentityProviderAsyncClient.builder()
-    .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
-    .region(Region.of(System.getenv("AWS_DEFAULT_REGION").toLowerCase()))
-    .httpClientBuilder(AwsCrtAsyncHttpClient.builder())
-    .build();
+  private static final ObjectMapper OBJECT_MAPPER = SharedDependencyFactory.objectMapper(new AuthJsonModule());
 
   private AuthDependencyFactory() {}
 
+  public static ObjectMapper objectMapper() {
+    return OBJECT_MAPPER;
+  }
+
   public static CognitoIdentityProviderAsyncClient cognitoIdentityProviderClient() {
-    return COGNITO_CLIENT;
+    return ClientRegistry.cognito();
   }
 }
@@ -25,16 +25,19 @@ public class Initialize {
   }
 
   public CognitoEvent user(CognitoEvent event) {
-    var initialize = RememberUser.with(event, mapper, dynamoDbClient)
-      .exceptionally(e -> {
-        log.error("error remembering user {} {}", event, e.getMessage());
-        return null;
-      })
-      .thenComposeAsync(result -> GroupUser.with(event, cognitoIdentityProviderClient))
-      .exceptionally(e -> {
-        log.error("error grouping user {} {}", event, e.getMessage());
-        return null;
-      });
+    var initialize = Tracing.async("onboard", () -> {
+      var traced = Tracing.current(Execution.blocking());
+      return Tracing.async("remember user", () -> RememberUser.with(event, mapper, dynamoDbClient))
+        .exceptionallyAsync(e -> {
+          log.error("error remembering user {} {}", event.userName(), e.getMessage());
+          return null;
+        }, traced)
+        .thenComposeAsync(result -> Tracing.async("group user", () -> GroupUser.with(event, cognitoIdentityProviderClient)), traced)
+        .exceptionallyAsync(e -> {
+          log.error("error grouping user {} {}", event.userName(), e.getMessage());
+          return null;
+        }, traced);
+    });
 
     initialize.join();
 
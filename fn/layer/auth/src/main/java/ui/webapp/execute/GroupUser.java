@@ -1,6 +1,9 @@
 package ui.webapp.execute;
 
+import ui.webapp.Execution;
 import ui.webapp.Logging;
+import ui.webapp.Metrics;
+import ui.webapp.Tracing;
 import ui.webapp.model.CognitoEvent;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
@@ -19,12 +22,13 @@ public class GroupUser {
 
     log.info("check if user is already in group {}", event.userName());
 
-    return cognitoIdentityProviderClient.adminListGroupsForUser(
+    var traced = Tracing.current(Execution.blocking());
+    return Metrics.call("cognito-idp", "AdminListGroupsForUser", () -> cognitoIdentityProviderClient.adminListGroupsForUser(
         AdminListGroupsForUserRequest.builder()
           .username(event.userName())
           .userPoolId(event.userPoolId())
-          .build())
-      .thenCompose(response -> {
+          .build()))
+      .thenComposeAsync(response -> {
         var isInGroup = response.groups().stream()
           .anyMatch(group -> group.groupName().equalsIgnoreCase(Subscription.FREE.name()));
 
@@ -34,24 +38,24 @@ public class GroupUser {
         } else {
           return addSubscriberToGroup(event, cognitoIdentityProviderClient);
         }
-      })
-      .exceptionally(e -> {
+      }, traced)
+      .exceptionallyAsync(e -> {
         log.info("error listing user groups {} {}", event.userName(), e);
         return false;
-      });
+      }, Execution.blocking());
   }
 
   private static CompletableFuture<Boolean> addSubscriberToGroup(CognitoEvent event, CognitoIdentityProviderAsyncClient cognitoIdentityProviderClient) {
-    return cognitoIdentityProviderClient.adminAddUserToGroup(
+    return Metrics.call("cognito-idp", "AdminAddUserToGroup", () -> cognitoIdentityProviderClient.adminAddUserToGroup(
         AdminAddUserToGroupRequest.builder()
           .groupName("free")
           .username(event.userName())
           .userPoolId(event.userPoolId())
-          .build())
+          .build()))
       .thenApply(response -> true)
-      .exceptionally(e -> {
+      .exceptionallyAsync(e -> {
         log.info("error adding user to group {} {}", event.userName(), e);
         return false;
-      });
+      }, Execution.blocking());
   }
 }
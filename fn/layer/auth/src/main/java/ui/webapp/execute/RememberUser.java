@@ -8,7 +8,10 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import ui.webapp.Env;
+import ui.webapp.Execution;
 import ui.webapp.Logging;
+import ui.webapp.Metrics;
+import ui.webapp.Tracing;
 import ui.webapp.model.*;
 
 import java.time.Instant;
@@ -18,32 +21,34 @@ import java.util.concurrent.CompletableFuture;
 
 public class RememberUser {
   private final static Logger log = Logging.handler();
+  private final static String TABLE = System.getenv(Env.DYNAMODB_USER_TABLE.name());
 
   @SneakyThrows
   public static CompletableFuture<Boolean> with(CognitoEvent event, ObjectMapper mapper, DynamoDbAsyncClient dynamoDbClient) {
     log.info("check if user exists {}", event.userName());
 
-    return dynamoDbClient.getItem(
+    var traced = Tracing.current(Execution.blocking());
+    return Metrics.call("dynamodb", "GetItem", () -> dynamoDbClient.getItem(
         GetItemRequest.builder()
-          .tableName(System.getenv(Env.DYNAMODB_USER_TABLE.name()))
+          .tableName(TABLE)
           .key(Map.of("id", AttributeValue.builder().s(event.userName()).build()))
-          .build())
-      .thenCompose(item -> {
+          .build()))
+      .thenComposeAsync(item -> {
         if (!item.hasItem()) {
           return create(event, mapper, dynamoDbClient);
         } else {
           log.info("user already exists {}", event.userName());
           return CompletableFuture.completedFuture(true);
         }
-      }).exceptionally(e -> {
+      }, traced).exceptionallyAsync(e -> {
         log.error("error grouping user {} {}", event.userName(), e);
         return false;
-      });
+      }, Execution.blocking());
   }
 
   @SneakyThrows
   public static CompletableFuture<Boolean> create(CognitoEvent event, ObjectMapper mapper, DynamoDbAsyncClient dynamoDbClient) {
-    log.info("create user {}", event);
+    log.info("create user {}", event.userName());
 
     var user = User.builder()
       .id(event.userName())
@@ -64,16 +69,16 @@ public class RememberUser {
       .updated(Instant.now().toString())
       .build();
 
-    return dynamoDbClient.putItem(
+    return Metrics.call("dynamodb", "PutItem", () -> dynamoDbClient.putItem(
         PutItemRequest.builder()
-          .tableName(System.getenv(Env.DYNAMODB_USER_TABLE.name()))
+          .tableName(TABLE)
           .item(user.attributeValue())
-          .build())
+          .build()))
       .thenApply(remembered -> true)
-      .exceptionally(e -> {
-        log.error("error creating user {} {}", event, e);
+      .exceptionallyAsync(e -> {
+        log.error("error creating user {} {}", event.userName(), e);
         return false;
-      });
+      }, Execution.blocking());
   }
 
   private static String theme(CognitoEvent event) {
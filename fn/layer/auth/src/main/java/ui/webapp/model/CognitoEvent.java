@@ -1,7 +1,10 @@
 package ui.webapp.model;
 
+import ui.webapp.codegen.JsonCodec;
+
 import java.util.Map;
 
+@JsonCodec
 public record CognitoEvent(
   int version,
   String region,
@@ -0,0 +1,325 @@
+package ui.webapp.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@SupportedAnnotationTypes("ui.webapp.codegen.JsonCodec")
+@SupportedOptions(JsonCodecProcessor.MODULE)
+@SupportedSourceVersion(SourceVersion.RELEASE_21)
+public class JsonCodecProcessor extends AbstractProcessor {
+  static final String MODULE = "jsoncodec.module";
+
+  private static final String GENERATED = "@javax.annotation.processing.Generated(\"" + JsonCodecProcessor.class.getName() + "\")";
+  private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+  private final List<TypeElement> records = new ArrayList<>();
+  private boolean written;
+
+  private enum Kind { STRING, BOOLEAN, INT, LONG, DOUBLE, OBJECT }
+
+  private record Component(String accessor, String json, String type, Kind kind) {}
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    for (var annotation : annotations) {
+      for (var element : round.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() != ElementKind.RECORD) {
+          error(element.getSimpleName() + " must be a record to use @JsonCodec");
+          continue;
+        }
+        records.add((TypeElement) element);
+      }
+    }
+
+    if (written || records.isEmpty())
+      return false;
+
+    var module = processingEnv.getOptions().get(MODULE);
+    if (module == null || module.isBlank()) {
+      error("missing -A" + MODULE + "=<fully qualified module class>");
+      return false;
+    }
+
+    try {
+      for (var record : records) {
+        var components = components(record);
+        serializer(record, components);
+        deserializer(record, components);
+      }
+      module(module.trim());
+      reflection(module.trim());
+      written = true;
+    } catch (IOException e) {
+      error("error generating json codecs " + e.getMessage());
+    }
+
+    return false;
+  }
+
+  private List<Component> components(TypeElement record) {
+    var components = new ArrayList<Component>();
+    for (var component : record.getRecordComponents()) {
+      var kind = kind(component.asType());
+      if (kind == null)
+        error(record.getSimpleName() + "." + component.getSimpleName() + " has unsupported type " + component.asType());
+      components.add(new Component(
+        component.getSimpleName().toString(),
+        json(component),
+        component.asType().toString(),
+        kind == null ? Kind.OBJECT : kind));
+    }
+    return components;
+  }
+
+  private void serializer(TypeElement record, List<Component> components) throws IOException {
+    var type = record.getQualifiedName().toString();
+    var name = record.getSimpleName() + "JsonSerializer";
+    var source = new StringBuilder();
+
+    source.append(header(record))
+      .append(GENERATED).append('\n')
+      .append("public final class ").append(name)
+      .append(" extends com.fasterxml.jackson.databind.ser.std.StdSerializer<").append(type).append("> {\n");
+
+    for (var component : components)
+      source.append("  private static final com.fasterxml.jackson.core.io.SerializedString ")
+        .append(field(component)).append(" = new com.fasterxml.jackson.core.io.SerializedString(\"")
+        .append(component.json()).append("\");\n");
+
+    source.append('\n')
+      .append("  public ").append(name).append("() {\n")
+      .append("    super(").append(type).append(".class);\n")
+      .append("  }\n\n")
+      .append("  @Override\n")
+      .append("  public void serialize(").append(type).append(" value, com.fasterxml.jackson.core.JsonGenerator generator, ")
+      .append("com.fasterxml.jackson.databind.SerializerProvider provider) throws java.io.IOException {\n")
+      .append("    generator.writeStartObject(value);\n");
+
+    for (var component : components) {
+      var value = "value." + component.accessor() + "()";
+      source.append("    generator.writeFieldName(").append(field(component)).append(");\n");
+      source.append(switch (component.kind()) {
+        case STRING -> "    generator.writeString(" + value + ");\n";
+        case BOOLEAN -> "    generator.writeBoolean(" + value + ");\n";
+        case INT, LONG, DOUBLE -> "    generator.writeNumber(" + value + ");\n";
+        case OBJECT -> "    provider.defaultSerializeValue(" + value + ", generator);\n";
+      });
+    }
+
+    source.append("    generator.writeEndObject();\n")
+      .append("  }\n")
+      .append("}\n");
+
+    write(record, name, source);
+  }
+
+  private void deserializer(TypeElement record, List<Component> components) throws IOException {
+    var type = record.getQualifiedName().toString();
+    var name = record.getSimpleName() + "JsonDeserializer";
+    var source = new StringBuilder();
+
+    source.append(header(record))
+      .append(GENERATED).append('\n')
+      .append("public final class ").append(name)
+      .append(" extends com.fasterxml.jackson.databind.deser.std.StdDeserializer<").append(type).append(">\n")
+      .append("  implements com.fasterxml.jackson.databind.deser.ResolvableDeserializer {\n");
+
+    for (var component : components)
+      if (component.kind() == Kind.OBJECT)
+        source.append("  private com.fasterxml.jackson.databind.JsonDeserializer<Object> ")
+          .append(component.accessor()).append("Deserializer;\n");
+
+    source.append('\n')
+      .append("  public ").append(name).append("() {\n")
+      .append("    super(").append(type).append(".class);\n")
+      .append("  }\n\n")
+      .append("  @Override\n")
+      .append("  public void resolve(com.fasterxml.jackson.databind.DeserializationContext context) ")
+      .append("throws com.fasterxml.jackson.databind.JsonMappingException {\n");
+
+    for (var component : components)
+      if (component.kind() == Kind.OBJECT)
+        source.append("    ").append(component.accessor()).append("Deserializer = context.findRootValueDeserializer(")
+          .append("context.getTypeFactory().constructType(new com.fasterxml.jackson.core.type.TypeReference<")
+          .append(component.type()).append(">() {}));\n");
+
+    source.append("  }\n\n")
+      .append("  @Override\n")
+      .append("  @SuppressWarnings(\"unchecked\")\n")
+      .append("  public ").append(type).append(" deserialize(com.fasterxml.jackson.core.JsonParser parser, ")
+      .append("com.fasterxml.jackson.databind.DeserializationContext context) throws java.io.IOException {\n");
+
+    for (var component : components)
+      source.append("    ").append(component.type()).append(' ').append(local(component)).append(" = ")
+        .append(switch (component.kind()) {
+          case BOOLEAN -> "false";
+          case INT -> "0";
+          case LONG -> "0L";
+          case DOUBLE -> "0D";
+          case STRING, OBJECT -> "null";
+        })
+        .append(";\n");
+
+    source.append('\n')
+      .append("    var token = parser.currentToken();\n")
+      .append("    if (token == com.fasterxml.jackson.core.JsonToken.START_OBJECT)\n")
+      .append("      token = parser.nextToken();\n")
+      .append("    else if (token != com.fasterxml.jackson.core.JsonToken.FIELD_NAME && token != com.fasterxml.jackson.core.JsonToken.END_OBJECT)\n")
+      .append("      return (").append(type).append(") context.handleUnexpectedToken(").append(type).append(".class, parser);\n\n")
+      .append("    for (; token == com.fasterxml.jackson.core.JsonToken.FIELD_NAME; token = parser.nextToken()) {\n")
+      .append("      var name = parser.currentName();\n")
+      .append("      token = parser.nextToken();\n")
+      .append("      switch (name) {\n");
+
+    for (var component : components)
+      source.append("        case \"").append(component.json()).append("\" -> ").append(local(component)).append(" = ")
+        .append(switch (component.kind()) {
+          case STRING -> "token == com.fasterxml.jackson.core.JsonToken.VALUE_STRING ? parser.getText()"
+            + " : token == com.fasterxml.jackson.core.JsonToken.VALUE_NULL ? null"
+            + " : context.readValue(parser, String.class)";
+          case BOOLEAN -> "token == com.fasterxml.jackson.core.JsonToken.VALUE_TRUE"
+            + " || token != com.fasterxml.jackson.core.JsonToken.VALUE_FALSE && _parseBooleanPrimitive(parser, context)";
+          case INT -> "token == com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT ? parser.getIntValue()"
+            + " : _parseIntPrimitive(parser, context)";
+          case LONG -> "token == com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT ? parser.getLongValue()"
+            + " : _parseLongPrimitive(parser, context)";
+          case DOUBLE -> "_parseDoublePrimitive(parser, context)";
+          case OBJECT -> "(" + component.type() + ") (token == com.fasterxml.jackson.core.JsonToken.VALUE_NULL"
+            + " ? " + component.accessor() + "Deserializer.getNullValue(context)"
+            + " : " + component.accessor() + "Deserializer.deserialize(parser, context))";
+        })
+        .append(";\n");
+
+    source.append("        default -> handleUnknownProperty(parser, context, ").append(type).append(".class, name);\n")
+      .append("      }\n")
+      .append("    }\n\n")
+      .append("    return new ").append(type).append('(');
+
+    for (var i = 0; i < components.size(); i++)
+      source.append(i == 0 ? "" : ", ").append(local(components.get(i)));
+
+    source.append(");\n")
+      .append("  }\n")
+      .append("}\n");
+
+    write(record, name, source);
+  }
+
+  private void module(String module) throws IOException {
+    var split = module.lastIndexOf('.');
+    var pkg = split < 0 ? "" : module.substring(0, split);
+    var name = module.substring(split + 1);
+    var source = new StringBuilder();
+
+    if (!pkg.isEmpty())
+      source.append("package ").append(pkg).append(";\n\n");
+
+    source.append(GENERATED).append('\n')
+      .append("public final class ").append(name)
+      .append(" extends com.fasterxml.jackson.databind.module.SimpleModule {\n\n")
+      .append("  public ").append(name).append("() {\n")
+      .append("    super(\"").append(name).append("\");\n");
+
+    for (var record : records) {
+      var type = record.getQualifiedName().toString();
+      var pkgOf = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+      var prefix = pkgOf.isEmpty() ? "" : pkgOf + ".";
+      source.append("    addSerializer(").append(type).append(".class, new ")
+        .append(prefix).append(record.getSimpleName()).append("JsonSerializer());\n")
+        .append("    addDeserializer(").append(type).append(".class, new ")
+        .append(prefix).append(record.getSimpleName()).append("JsonDeserializer());\n");
+    }
+
+    source.append("  }\n")
+      .append("}\n");
+
+    try (Writer writer = processingEnv.getFiler().createSourceFile(module, records.toArray(TypeElement[]::new)).openWriter()) {
+      writer.write(source.toString());
+    }
+  }
+
+  private void reflection(String module) throws IOException {
+    var path = "META-INF/native-image/ui.webapp/" + module.substring(module.lastIndexOf('.') + 1) + "/reflect-config.json";
+    var source = new StringBuilder("[\n");
+
+    for (var i = 0; i < records.size(); i++)
+      source.append("  {\"name\": \"").append(records.get(i).getQualifiedName())
+        .append("\", \"allDeclaredConstructors\": true, \"allPublicMethods\": true, \"allDeclaredFields\": true}")
+        .append(i + 1 < records.size() ? ",\n" : "\n");
+
+    source.append("]\n");
+
+    var resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path, records.toArray(TypeElement[]::new));
+    try (Writer writer = resource.openWriter()) {
+      writer.write(source.toString());
+    }
+  }
+
+  private String header(TypeElement record) {
+    var pkg = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+    return pkg.isEmpty() ? "" : "package " + pkg + ";\n\n";
+  }
+
+  private void write(TypeElement record, String name, StringBuilder source) throws IOException {
+    var pkg = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+    var qualified = pkg.isEmpty() ? name : pkg + "." + name;
+    try (Writer writer = processingEnv.getFiler().createSourceFile(qualified, record).openWriter()) {
+      writer.write(source.toString());
+    }
+  }
+
+  private String json(RecordComponentElement component) {
+    var mirrors = new ArrayList<AnnotationMirror>(component.getAnnotationMirrors());
+    mirrors.addAll(component.getAccessor().getAnnotationMirrors());
+
+    for (var mirror : mirrors) {
+      if (!mirror.getAnnotationType().toString().equals(JSON_PROPERTY))
+        continue;
+
+      for (var entry : mirror.getElementValues().entrySet())
+        if (entry.getKey().getSimpleName().contentEquals("value") && !entry.getValue().getValue().toString().isEmpty())
+          return entry.getValue().getValue().toString();
+    }
+
+    return component.getSimpleName().toString();
+  }
+
+  private static Kind kind(TypeMirror type) {
+    return switch (type.getKind()) {
+      case BOOLEAN -> Kind.BOOLEAN;
+      case INT -> Kind.INT;
+      case LONG -> Kind.LONG;
+      case DOUBLE -> Kind.DOUBLE;
+      case SHORT, BYTE, CHAR, FLOAT -> null;
+      default -> type.toString().equals("java.lang.String") ? Kind.STRING : Kind.OBJECT;
+    };
+  }
+
+  private static String field(Component component) {
+    return component.accessor().toUpperCase() + "_FIELD";
+  }
+
+  private static String local(Component component) {
+    return component.accessor() + "Value";
+  }
+
+  private void error(String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message);
+  }
+}
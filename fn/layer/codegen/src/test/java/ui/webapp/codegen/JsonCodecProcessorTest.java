@@ -0,0 +1,197 @@
+package ui.webapp.codegen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonCodecProcessorTest {
+  private static final String MODULE = "-A" + JsonCodecProcessor.MODULE + "=test.TestJsonModule";
+
+  private static final JavaFileObject ADDRESS = JavaFileObjects.forSourceString("test.Address", """
+    package test;
+
+    import ui.webapp.codegen.JsonCodec;
+
+    @JsonCodec
+    public record Address(String city, long zip) {}
+    """);
+
+  private static final JavaFileObject PROFILE = JavaFileObjects.forSourceString("test.Profile", """
+    package test;
+
+    import com.fasterxml.jackson.annotation.JsonProperty;
+    import ui.webapp.codegen.JsonCodec;
+
+    import java.util.List;
+
+    @JsonCodec
+    public record Profile(
+      String name,
+      @JsonProperty("age_years") int age,
+      boolean active,
+      double score,
+      Address address,
+      List<Address> history) {}
+    """);
+
+  private Loader loader;
+  private ObjectMapper mapper;
+
+  @BeforeEach
+  void compile() throws ReflectiveOperationException {
+    var compilation = compile(MODULE, ADDRESS, PROFILE);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.ProfileJsonSerializer");
+    assertThat(compilation).generatedSourceFile("test.ProfileJsonDeserializer");
+    assertThat(compilation).generatedSourceFile("test.AddressJsonDeserializer");
+    assertThat(compilation)
+      .generatedFile(StandardLocation.CLASS_OUTPUT, "META-INF/native-image/ui.webapp/TestJsonModule/reflect-config.json")
+      .contentsAsUtf8String()
+      .contains("\"name\": \"test.Profile\"");
+
+    loader = new Loader(compilation);
+    mapper = new ObjectMapper()
+      .registerModule((Module) loader.loadClass("test.TestJsonModule").getConstructor().newInstance());
+  }
+
+  @Test
+  void registersGeneratedCodecsInTheModule() throws Exception {
+    var profile = loader.loadClass("test.Profile");
+
+    assertEquals("test.ProfileJsonSerializer",
+      mapper.getSerializerProviderInstance().findValueSerializer(profile).getClass().getName());
+    assertEquals("test.ProfileJsonDeserializer", deserializer(profile).getClass().getName());
+  }
+
+  @Test
+  void roundTripsNestedRecordsAndRenamedProperties() throws Exception {
+    var json = """
+      {"name":"ada","age_years":36,"active":true,"score":1.5,
+       "address":{"city":"london","zip":12345},
+       "history":[{"city":"paris","zip":75001}]}""";
+
+    var profile = mapper.readValue(json, loader.loadClass("test.Profile"));
+
+    assertEquals("Profile[name=ada, age=36, active=true, score=1.5, address=Address[city=london, zip=12345], "
+      + "history=[Address[city=paris, zip=75001]]]", profile.toString());
+    assertEquals(mapper.readTree(json), mapper.readTree(mapper.writeValueAsString(profile)));
+  }
+
+  @Test
+  void mapsNullsAndMissingFieldsToDefaults() throws Exception {
+    var json = """
+      {"name":null,"age_years":null,"address":null,"history":null}""";
+
+    var profile = mapper.readValue(json, loader.loadClass("test.Profile"));
+
+    assertEquals("Profile[name=null, age=0, active=false, score=0.0, address=null, history=null]", profile.toString());
+    assertEquals(mapper.readTree("""
+        {"name":null,"age_years":0,"active":false,"score":0.0,"address":null,"history":null}"""),
+      mapper.readTree(mapper.writeValueAsString(profile)));
+  }
+
+  @Test
+  void honoursUnknownPropertyHandling() throws Exception {
+    var type = loader.loadClass("test.Profile");
+    var json = """
+      {"name":"ada","nickname":{"nested":["skipped"]},"address":{"city":"london","floor":3}}""";
+
+    assertThrows(UnrecognizedPropertyException.class, () -> mapper.readValue(json, type));
+
+    var lenient = mapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    assertEquals("Profile[name=ada, age=0, active=false, score=0.0, address=Address[city=london, zip=0], history=null]",
+      lenient.readValue(json, type).toString());
+  }
+
+  @Test
+  void rejectsNonRecordTypes() {
+    var compilation = compile(MODULE, JavaFileObjects.forSourceString("test.Plain", """
+      package test;
+
+      @ui.webapp.codegen.JsonCodec
+      public class Plain {}
+      """));
+
+    assertThat(compilation).hadErrorContaining("Plain must be a record to use @JsonCodec");
+  }
+
+  @Test
+  void rejectsUnsupportedComponentTypes() {
+    var compilation = compile(MODULE, JavaFileObjects.forSourceString("test.Ratio", """
+      package test;
+
+      @ui.webapp.codegen.JsonCodec
+      public record Ratio(float value) {}
+      """));
+
+    assertThat(compilation).hadErrorContaining("Ratio.value has unsupported type float");
+  }
+
+  @Test
+  void requiresTheModuleOption() {
+    assertThat(javac().withProcessors(new JsonCodecProcessor()).compile(ADDRESS))
+      .hadErrorContaining("missing -A" + JsonCodecProcessor.MODULE);
+  }
+
+  private static Compilation compile(String option, JavaFileObject... sources) {
+    return javac()
+      .withProcessors(new JsonCodecProcessor())
+      .withOptions(option)
+      .compile(sources);
+  }
+
+  private JsonDeserializer<Object> deserializer(Class<?> type) throws Exception {
+    var context = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+      .createInstance(mapper.getDeserializationConfig(), null, null);
+    return context.findRootValueDeserializer(mapper.constructType(type));
+  }
+
+  private static final class Loader extends ClassLoader {
+    private static final String OUTPUT = "/" + StandardLocation.CLASS_OUTPUT.getName() + "/";
+
+    private final Map<String, byte[]> classes = new HashMap<>();
+
+    Loader(Compilation compilation) {
+      super(JsonCodecProcessorTest.class.getClassLoader());
+      for (var file : compilation.generatedFiles()) {
+        var path = file.toUri().getPath();
+        if (file.getKind() != JavaFileObject.Kind.CLASS || !path.contains(OUTPUT))
+          continue;
+
+        var name = path.substring(path.indexOf(OUTPUT) + OUTPUT.length(), path.length() - ".class".length());
+        try (var in = file.openInputStream()) {
+          classes.put(name.replace('/', '.'), in.readAllBytes());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      var bytes = classes.get(name);
+      if (bytes == null)
+        throw new ClassNotFoundException(name);
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
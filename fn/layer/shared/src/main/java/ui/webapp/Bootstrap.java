@@ -0,0 +1,251 @@
+package ui.webapp;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+public class Bootstrap {
+  private static final String VERSION = "2018-06-01";
+  private static final String TRACE_PROPERTY = "com.amazonaws.xray.traceHeader";
+
+  private final Logger log = Logging.handler();
+  private final HttpClient http = HttpClient.newBuilder()
+    .version(HttpClient.Version.HTTP_1_1)
+    .build();
+  private final ObjectMapper mapper = SharedDependencyFactory.objectMapper().copy()
+    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final String runtime;
+  private final Invoker invoker;
+
+  private interface Invoker {
+    byte[] invoke(byte[] event, Context context) throws IOException;
+  }
+
+  private record Invocation(String requestId, long deadline, String functionArn, byte[] event) {}
+
+  public Bootstrap(String runtimeApi, Object handler) {
+    this.runtime = "http://" + runtimeApi + "/" + VERSION + "/runtime";
+    this.invoker = invoker(handler);
+  }
+
+  public static void main(String[] args) {
+    var runtimeApi = System.getenv("AWS_LAMBDA_RUNTIME_API");
+    var handler = Optional.ofNullable(System.getenv("_HANDLER"))
+      .or(() -> args.length > 0 ? Optional.of(args[0]) : Optional.empty())
+      .orElse("ui.webapp.Handler");
+
+    Bootstrap bootstrap;
+    try {
+      bootstrap = new Bootstrap(runtimeApi, instantiate(handler));
+    } catch (Exception e) {
+      initError(runtimeApi, e);
+      System.exit(1);
+      return;
+    }
+
+    bootstrap.run();
+  }
+
+  public void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      Invocation invocation;
+      try {
+        invocation = next();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException e) {
+        log.error("error polling runtime api {} {}", runtime, e.getMessage());
+        System.exit(1);
+        return;
+      }
+
+      respond(invocation);
+    }
+  }
+
+  private Invocation next() throws IOException, InterruptedException {
+    var response = http.send(
+      HttpRequest.newBuilder(URI.create(runtime + "/invocation/next")).GET().build(),
+      HttpResponse.BodyHandlers.ofByteArray());
+
+    var headers = response.headers();
+    headers.firstValue("Lambda-Runtime-Trace-Id").ifPresentOrElse(
+      trace -> System.setProperty(TRACE_PROPERTY, trace),
+      () -> System.clearProperty(TRACE_PROPERTY));
+
+    return new Invocation(
+      headers.firstValue("Lambda-Runtime-Aws-Request-Id").orElseThrow(() -> new IOException("invocation without request id")),
+      headers.firstValue("Lambda-Runtime-Deadline-Ms").map(Long::parseLong).orElse(Long.MAX_VALUE),
+      headers.firstValue("Lambda-Runtime-Invoked-Function-Arn").orElse(null),
+      response.body());
+  }
+
+  private void respond(Invocation invocation) {
+    var context = new InvocationContext(invocation.requestId(), invocation.deadline(), invocation.functionArn());
+    try {
+      var body = invoker.invoke(invocation.event(), context);
+      post("/invocation/" + invocation.requestId() + "/response", body, Map.of());
+    } catch (Exception e) {
+      log.error("error handling invocation {} {}", invocation.requestId(), e.getMessage());
+      try {
+        post("/invocation/" + invocation.requestId() + "/error", error(mapper, e), Map.of("Lambda-Runtime-Function-Error-Type", "Unhandled"));
+      } catch (Exception reported) {
+        log.error("error reporting invocation error {} {}", invocation.requestId(), reported.getMessage());
+      }
+    }
+  }
+
+  private void post(String path, byte[] body, Map<String, String> headers) throws IOException, InterruptedException {
+    var request = HttpRequest.newBuilder(URI.create(runtime + path))
+      .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+    headers.forEach(request::header);
+
+    var response = http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() / 100 != 2)
+      log.error("runtime api rejected {} {}", path, response.statusCode());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Invoker invoker(Object handler) {
+    if (handler instanceof RequestStreamHandler stream) {
+      return (event, context) -> {
+        var output = new ByteArrayOutputStream();
+        stream.handleRequest(new ByteArrayInputStream(event), output, context);
+        return output.toByteArray();
+      };
+    }
+
+    if (handler instanceof RequestHandler request) {
+      var input = inputType(handler.getClass());
+      var reader = mapper.readerFor(input);
+      var writer = mapper.writer();
+      return (event, context) -> writer.writeValueAsBytes(request.handleRequest(reader.readValue(event), context));
+    }
+
+    throw new IllegalArgumentException(handler.getClass().getName() + " is not a RequestHandler or RequestStreamHandler");
+  }
+
+  private JavaType inputType(Class<?> type) {
+    for (var generic : type.getGenericInterfaces()) {
+      if (generic instanceof ParameterizedType parameterized && parameterized.getRawType() == RequestHandler.class)
+        return mapper.constructType(parameterized.getActualTypeArguments()[0]);
+    }
+
+    return mapper.constructType(Object.class);
+  }
+
+  private static Object instantiate(String handler) throws ReflectiveOperationException {
+    var split = handler.indexOf("::");
+    var name = split < 0 ? handler : handler.substring(0, split);
+    return Class.forName(name).getDeclaredConstructor().newInstance();
+  }
+
+  private static void initError(String runtimeApi, Exception e) {
+    Logging.handler().error("error initializing handler {}", e.getMessage());
+    try {
+      var request = HttpRequest.newBuilder(URI.create("http://" + runtimeApi + "/" + VERSION + "/runtime/init/error"))
+        .header("Lambda-Runtime-Function-Error-Type", "Runtime.Unknown")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(error(SharedDependencyFactory.objectMapper(), e)))
+        .build();
+      HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+    } catch (Exception reported) {
+      Logging.handler().error("error reporting init error {}", reported.getMessage());
+    }
+  }
+
+  private static byte[] error(ObjectMapper mapper, Throwable e) throws IOException {
+    var cause = e.getCause() != null && e.getMessage() == null ? e.getCause() : e;
+    return mapper.writeValueAsBytes(Map.of(
+      "errorMessage", String.valueOf(cause.getMessage()),
+      "errorType", cause.getClass().getName()));
+  }
+
+  private record InvocationContext(String requestId, long deadline, String functionArn) implements Context {
+    private static final LambdaLogger LOGGER = new LambdaLogger() {
+      @Override
+      public void log(String message) {
+        System.out.println(message);
+      }
+
+      @Override
+      public void log(byte[] message) {
+        log(new String(message, StandardCharsets.UTF_8));
+      }
+    };
+
+    @Override
+    public String getAwsRequestId() {
+      return requestId;
+    }
+
+    @Override
+    public String getLogGroupName() {
+      return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME");
+    }
+
+    @Override
+    public String getLogStreamName() {
+      return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME");
+    }
+
+    @Override
+    public String getFunctionName() {
+      return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+    }
+
+    @Override
+    public String getFunctionVersion() {
+      return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+      return functionArn;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+      return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+      return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+      return (int) Math.max(0, Math.min(Integer.MAX_VALUE, deadline - System.currentTimeMillis()));
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+      return Optional.ofNullable(System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE")).map(Integer::parseInt).orElse(128);
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+      return LOGGER;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package ui.webapp;
+
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+
+public class CircuitBreaker {
+  private final Logger log = Logging.handler();
+  private final String name;
+  private final int threshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAt;
+  private boolean probing;
+  private long rejected;
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  public record Stats(State state, int failures, long rejected) {}
+
+  public CircuitBreaker(String name, int threshold, Duration open) {
+    this.name = name;
+    this.threshold = threshold;
+    this.openNanos = open.toNanos();
+  }
+
+  public synchronized boolean allow() {
+    if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos)
+      transition(State.HALF_OPEN);
+
+    if (state == State.CLOSED)
+      return true;
+
+    if (state == State.HALF_OPEN && !probing) {
+      probing = true;
+      return true;
+    }
+
+    rejected++;
+    return false;
+  }
+
+  public synchronized boolean open() {
+    return state == State.OPEN && System.nanoTime() - openedAt < openNanos
+      || state == State.HALF_OPEN && probing;
+  }
+
+  public synchronized Duration retryAfter() {
+    if (state != State.OPEN)
+      return Duration.ZERO;
+
+    return Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - openedAt)));
+  }
+
+  public synchronized void onSuccess() {
+    failures = 0;
+    probing = false;
+    if (state != State.CLOSED)
+      transition(State.CLOSED);
+  }
+
+  public synchronized void onFailure() {
+    probing = false;
+    failures++;
+    if (state == State.HALF_OPEN || failures >= threshold && state == State.CLOSED) {
+      openedAt = System.nanoTime();
+      transition(State.OPEN);
+    }
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(state, failures, rejected);
+  }
+
+  private void transition(State next) {
+    log.warn("circuit {} {} -> {} after {} failures", name, state, next, failures);
+    state = next;
+  }
+}
@@ -0,0 +1,8 @@
+package ui.webapp;
+
+public class CircuitOpenException extends RuntimeException {
+
+  public CircuitOpenException(String downstream) {
+    super("circuit open for " + downstream);
+  }
+}
@@ -0,0 +1,109 @@
+package ui.webapp;
+
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.DescribeUserPoolRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeEndpointsRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ClientRegistry {
+
+  public enum Setting {
+    HTTP_MAX_CONCURRENCY,
+    HTTP_CONNECTION_ACQUISITION_TIMEOUT_MILLIS,
+    HTTP_CONNECTION_TIMEOUT_MILLIS,
+    HTTP_CONNECTION_MAX_IDLE_MILLIS,
+    HTTP_TCP_KEEP_ALIVE_INTERVAL_SECONDS,
+    HTTP_TCP_KEEP_ALIVE_TIMEOUT_SECONDS,
+  }
+
+  private static final Logger log = Logging.handler();
+
+  private static final Duration WARM_TIMEOUT = Duration.ofSeconds(2);
+
+  private static final Region REGION = Region.of(System.getenv("AWS_DEFAULT_REGION").toLowerCase());
+
+  private static final AwsCredentialsProvider CREDENTIALS = EnvironmentVariableCredentialsProvider.create();
+
+  private static final SdkAsyncHttpClient HTTP_CLIENT = AwsCrtAsyncHttpClient.builder()
+    .maxConcurrency((int) EnvUtil.number(Setting.HTTP_MAX_CONCURRENCY, 50))
+    .connectionAcquisitionTimeout(Duration.ofMillis(EnvUtil.number(Setting.HTTP_CONNECTION_ACQUISITION_TIMEOUT_MILLIS, 2000)))
+    .connectionTimeout(Duration.ofMillis(EnvUtil.number(Setting.HTTP_CONNECTION_TIMEOUT_MILLIS, 1000)))
+    .connectionMaxIdleTime(Duration.ofMillis(EnvUtil.number(Setting.HTTP_CONNECTION_MAX_IDLE_MILLIS, 50000)))
+    .tcpKeepAliveConfiguration(keepAlive -> keepAlive
+      .keepAliveInterval(Duration.ofSeconds(EnvUtil.number(Setting.HTTP_TCP_KEEP_ALIVE_INTERVAL_SECONDS, 30)))
+      .keepAliveTimeout(Duration.ofSeconds(EnvUtil.number(Setting.HTTP_TCP_KEEP_ALIVE_TIMEOUT_SECONDS, 5))))
+    .build();
+
+  private ClientRegistry() {}
+
+  public static SdkAsyncHttpClient httpClient() {
+    return HTTP_CLIENT;
+  }
+
+  public static DynamoDbAsyncClient dynamoDb() {
+    return DynamoDb.CLIENT;
+  }
+
+  public static CognitoIdentityProviderAsyncClient cognito() {
+    return Cognito.CLIENT;
+  }
+
+  public static void refreshCredentials() {
+    CREDENTIALS.resolveCredentials();
+  }
+
+  public static void warm(DynamoDbAsyncClient client) {
+    warm("dynamodb", client.describeEndpoints(DescribeEndpointsRequest.builder().build()));
+  }
+
+  public static void warm(CognitoIdentityProviderAsyncClient client, String userPoolId) {
+    warm("cognito-idp", client.describeUserPool(DescribeUserPoolRequest.builder().userPoolId(userPoolId).build()));
+  }
+
+  private static ClientOverrideConfiguration override(String downstream) {
+    var resilience = Resilience.of(downstream);
+    return resilience.override().toBuilder()
+      .executionInterceptors(List.of(Tracing.interceptor(), resilience))
+      .build();
+  }
+
+  private static void warm(String downstream, CompletableFuture<?> call) {
+    var started = System.nanoTime();
+    try {
+      call.get(WARM_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+      log.info("warmed {} in {} ms", downstream, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    } catch (Exception e) {
+      log.warn("error warming {} {}", downstream, e.getMessage());
+    }
+  }
+
+  private static class DynamoDb {
+    private static final DynamoDbAsyncClient CLIENT = LatencyRecorder.wrap(DynamoDbAsyncClient.class, DynamoDbAsyncClient.builder()
+      .credentialsProvider(CREDENTIALS)
+      .region(REGION)
+      .httpClient(HTTP_CLIENT)
+      .overrideConfiguration(override("dynamodb"))
+      .build(), "dynamodb");
+  }
+
+  private static class Cognito {
+    private static final CognitoIdentityProviderAsyncClient CLIENT = LatencyRecorder.wrap(CognitoIdentityProviderAsyncClient.class, CognitoIdentityProviderAsyncClient.builder()
+      .credentialsProvider(CREDENTIALS)
+      .region(REGION)
+      .httpClient(HTTP_CLIENT)
+      .overrideConfiguration(override("cognito-idp"))
+      .build(), "cognito-idp");
+  }
+}
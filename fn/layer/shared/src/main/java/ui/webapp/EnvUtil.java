@@ -0,0 +1,22 @@
+package ui.webapp;
+
+public class EnvUtil {
+
+  public static String string(Enum<?> key, String fallback) {
+    var value = System.getenv(key.name());
+    return value == null || value.isBlank() ? fallback : value.trim();
+  }
+
+  public static long number(Enum<?> key, long fallback) {
+    var value = string(key, null);
+    if (value == null)
+      return fallback;
+
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      Logging.handler().warn("invalid number for {} {}, using {}", key.name(), value, fallback);
+      return fallback;
+    }
+  }
+}
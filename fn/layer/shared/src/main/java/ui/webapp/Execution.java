@@ -0,0 +1,97 @@
+package ui.webapp;
+
+import io.opentelemetry.context.Context;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Execution {
+
+  private static final Executor DIRECT = Runnable::run;
+  private static final Instrumented BLOCKING = new Instrumented(Executors.newVirtualThreadPerTaskExecutor());
+
+  public record Stats(long submitted, long queued, long running, long completed, Duration meanWait, Duration maxWait, Duration meanLatency) {}
+
+  private Execution() {}
+
+  public static Executor blocking() {
+    return BLOCKING;
+  }
+
+  public static Executor direct() {
+    return DIRECT;
+  }
+
+  public static CompletableFuture<Void> delay(long delay, TimeUnit unit) {
+    if (delay <= 0)
+      return CompletableFuture.completedFuture(null);
+
+    return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, unit, Context.current().wrap(BLOCKING)));
+  }
+
+  public static Stats stats() {
+    return BLOCKING.stats();
+  }
+
+  private static class Instrumented implements Executor {
+    private final ExecutorService delegate;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private Instrumented(ExecutorService delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      var queuedAt = System.nanoTime();
+      var context = ThreadContext.getImmutableContext();
+      var trace = Context.current();
+      submitted.increment();
+
+      delegate.execute(() -> {
+        if (!context.isEmpty())
+          ThreadContext.putAll(context);
+
+        var startedAt = System.nanoTime();
+        var wait = startedAt - queuedAt;
+        started.increment();
+        waitNanos.add(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+
+        try (var scope = trace.makeCurrent()) {
+          task.run();
+        } finally {
+          latencyNanos.add(System.nanoTime() - queuedAt);
+          completed.increment();
+        }
+      });
+    }
+
+    private Stats stats() {
+      var done = completed.sum();
+      var begun = started.sum();
+      var total = submitted.sum();
+
+      return new Stats(
+        total,
+        Math.max(0, total - begun),
+        Math.max(0, begun - done),
+        done,
+        Duration.ofNanos(begun == 0 ? 0 : waitNanos.sum() / begun),
+        Duration.ofNanos(maxWaitNanos.get()),
+        Duration.ofNanos(done == 0 ? 0 : latencyNanos.sum() / done));
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+public class JsonSpanExporter implements SpanExporter {
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final OutputStream out;
+
+  JsonSpanExporter(OutputStream out) {
+    this.out = out;
+  }
+
+  public static JsonSpanExporter stdout() {
+    return new JsonSpanExporter(System.out);
+  }
+
+  public static JsonSpanExporter file(String path) {
+    try {
+      return new JsonSpanExporter(Files.newOutputStream(Path.of(path), StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    var output = new ByteArrayOutputStream(512 * spans.size());
+    try {
+      for (var span : spans) {
+        try (var json = JSON.createGenerator(output)) {
+          write(json, span);
+        }
+        output.write('\n');
+      }
+
+      synchronized (out) {
+        output.writeTo(out);
+        out.flush();
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    try {
+      synchronized (out) {
+        out.flush();
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (out != System.out) {
+      try {
+        out.close();
+      } catch (IOException e) {
+        return CompletableResultCode.ofFailure();
+      }
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private static void write(JsonGenerator json, SpanData span) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("type", "span");
+    json.writeStringField("traceId", span.getTraceId());
+    json.writeStringField("spanId", span.getSpanId());
+    if (span.getParentSpanContext().isValid())
+      json.writeStringField("parentSpanId", span.getParentSpanId());
+    json.writeStringField("name", span.getName());
+    json.writeStringField("kind", span.getKind().name());
+    json.writeNumberField("startTimeUnixNano", span.getStartEpochNanos());
+    json.writeNumberField("endTimeUnixNano", span.getEndEpochNanos());
+    json.writeNumberField("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1e6);
+    json.writeStringField("status", span.getStatus().getStatusCode().name());
+
+    json.writeObjectFieldStart("attributes");
+    for (var attribute : span.getAttributes().asMap().entrySet())
+      json.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+    json.writeEndObject();
+
+    if (!span.getEvents().isEmpty()) {
+      json.writeArrayFieldStart("events");
+      for (var event : span.getEvents()) {
+        json.writeStartObject();
+        json.writeStringField("name", event.getName());
+        json.writeNumberField("timeUnixNano", event.getEpochNanos());
+        for (var attribute : event.getAttributes().asMap().entrySet())
+          json.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+    }
+
+    json.writeEndObject();
+  }
+}
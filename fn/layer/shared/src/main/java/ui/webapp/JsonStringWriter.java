@@ -0,0 +1,61 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class JsonStringWriter extends Writer {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final JsonGenerator generator;
+  private final char[] escape = {'\\', 'u', '0', '0', '0', '0'};
+
+  public JsonStringWriter(JsonGenerator generator) {
+    this.generator = generator;
+  }
+
+  @Override
+  public void write(char[] buffer, int offset, int length) throws IOException {
+    var start = offset;
+    var end = offset + length;
+
+    for (var i = offset; i < end; i++) {
+      var c = buffer[i];
+      if (c >= 0x20 && c != '"' && c != '\\')
+        continue;
+
+      if (i > start)
+        generator.writeRaw(buffer, start, i - start);
+
+      escape(c);
+      start = i + 1;
+    }
+
+    if (end > start)
+      generator.writeRaw(buffer, start, end - start);
+  }
+
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() {}
+
+  private void escape(char c) throws IOException {
+    switch (c) {
+      case '"' -> generator.writeRaw("\\\"");
+      case '\\' -> generator.writeRaw("\\\\");
+      case '\n' -> generator.writeRaw("\\n");
+      case '\r' -> generator.writeRaw("\\r");
+      case '\t' -> generator.writeRaw("\\t");
+      case '\b' -> generator.writeRaw("\\b");
+      case '\f' -> generator.writeRaw("\\f");
+      default -> {
+        escape[4] = HEX[(c >> 4) & 0xF];
+        escape[5] = HEX[c & 0xF];
+        generator.writeRaw(escape, 0, escape.length);
+      }
+    }
+  }
+}
@@ -2,21 +2,47 @@ package ui.webapp;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.SneakyThrows;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class JsonUtil {
+  private static final Map<Key, ObjectReader> READERS = new ConcurrentHashMap<>();
+  private static final Map<Key, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+  private record Key(ObjectMapper mapper, Object type) {}
+
+  public static ObjectReader reader(ObjectMapper mapper, Class<?> type) {
+    return READERS.computeIfAbsent(new Key(mapper, type), key -> mapper.readerFor(type));
+  }
+
+  public static ObjectReader reader(ObjectMapper mapper, TypeReference<?> type) {
+    var javaType = mapper.getTypeFactory().constructType(type);
+    return READERS.computeIfAbsent(new Key(mapper, javaType), key -> mapper.readerFor(javaType));
+  }
+
+  public static ObjectWriter writer(ObjectMapper mapper, Class<?> type) {
+    return WRITERS.computeIfAbsent(new Key(mapper, type), key -> mapper.writerFor(type));
+  }
+
   @SneakyThrows
   public static String toJson(Object object, ObjectMapper mapper) {
-    return mapper.writeValueAsString(object);
+    if (object == null)
+      return mapper.writeValueAsString(null);
+
+    return writer(mapper, object.getClass()).writeValueAsString(object);
   }
 
   @SneakyThrows
   public static <T> T fromJson(ObjectMapper mapper, String json, Class<T> clazz) {
-    return mapper.readValue(json, clazz);
+    return reader(mapper, clazz).readValue(json);
   }
 
   @SneakyThrows
   public static <T> T fromJson(ObjectMapper mapper, String json, TypeReference<T> clazz) {
-    return mapper.readValue(json, clazz);
+    return reader(mapper, clazz).readValue(json);
   }
 }
@@ -0,0 +1,129 @@
+package ui.webapp;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LatencyRecorder {
+
+  public enum Setting {
+    LATENCY_SNAPSHOT_INTERVAL_SECONDS,
+    LATENCY_HIGHEST_TRACKABLE_MILLIS,
+  }
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MILLISECONDS.toMicros(EnvUtil.number(Setting.LATENCY_HIGHEST_TRACKABLE_MILLIS, 60_000));
+  private static final long INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(EnvUtil.number(Setting.LATENCY_SNAPSHOT_INTERVAL_SECONDS, 60));
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private static final Map<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+  private static final Map<Method, Operation> METHODS = new ConcurrentHashMap<>();
+  private static final AtomicLong LAST_SNAPSHOT = new AtomicLong(System.currentTimeMillis());
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> snapshot(System.out), "latency-snapshot"));
+  }
+
+  private LatencyRecorder() {}
+
+  public static <T> T wrap(Class<T> type, T client, String service) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+      if (method.getReturnType() != CompletableFuture.class)
+        return invoke(client, method, args);
+
+      var operation = METHODS.computeIfAbsent(method, ignored -> operation(service, method.getName()));
+      var started = System.nanoTime();
+      var result = (CompletableFuture<?>) invoke(client, method, args);
+      result.whenComplete((response, e) -> operation.record(System.nanoTime() - started));
+      return result;
+    }));
+  }
+
+  // concurrent invocations race for the interval, only the one that claims it writes the snapshot
+  public static void snapshotIfDue() {
+    var now = System.currentTimeMillis();
+    var last = LAST_SNAPSHOT.get();
+    if (now - last >= INTERVAL_MILLIS && LAST_SNAPSHOT.compareAndSet(last, now))
+      write(System.out, last, now);
+  }
+
+  static void snapshot(PrintStream out) {
+    var now = System.currentTimeMillis();
+    write(out, LAST_SNAPSHOT.getAndSet(now), now);
+  }
+
+  private static void write(PrintStream out, long started, long now) {
+    var lines = new ByteArrayOutputStream();
+    try (var print = new PrintStream(lines, false, StandardCharsets.UTF_8)) {
+      for (var operation : OPERATIONS.values())
+        operation.write(print, started, now);
+    }
+
+    if (lines.size() > 0) {
+      out.write(lines.toByteArray(), 0, lines.size());
+      out.flush();
+    }
+  }
+
+  private static Operation operation(String service, String name) {
+    var tag = service + "." + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    return OPERATIONS.computeIfAbsent(tag, Operation::new);
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static class Operation {
+    private final String tag;
+    private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    private Operation(String tag) {
+      this.tag = tag;
+    }
+
+    void record(long nanos) {
+      recorder.recordValue(Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    synchronized void write(PrintStream print, long started, long now) {
+      interval = recorder.getIntervalHistogram(interval);
+      if (interval.getTotalCount() == 0)
+        return;
+
+      interval.setTag(tag);
+      print.printf(Locale.ROOT, "{\"type\":\"latency\",\"operation\":\"%s\",\"count\":%d,\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"max\":%.3f,\"histogram\":\"",
+        tag,
+        interval.getTotalCount(),
+        interval.getValueAtPercentile(50) / MICROS_PER_MILLI,
+        interval.getValueAtPercentile(99) / MICROS_PER_MILLI,
+        interval.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+        interval.getMaxValue() / MICROS_PER_MILLI);
+
+      var encoded = new ByteArrayOutputStream();
+      try (var line = new PrintStream(encoded, false, StandardCharsets.UTF_8)) {
+        new HistogramLogWriter(line).outputIntervalHistogram(started / 1000.0, now / 1000.0, interval, MICROS_PER_MILLI);
+      }
+      print.print(encoded.toString(StandardCharsets.UTF_8).strip());
+      print.println("\"}");
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package ui.webapp;
+
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class Lazy<T> implements Supplier<T> {
+  private static final Logger log = Logging.handler();
+  private static final List<Phase> PHASES = new CopyOnWriteArrayList<>();
+  private static final AtomicBoolean REPORTED = new AtomicBoolean();
+
+  private final String name;
+  private final Supplier<T> supplier;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile T value;
+
+  public record Phase(String name, Duration elapsed, String thread) {
+
+    @Override
+    public String toString() {
+      return name + "=" + elapsed.toNanos() / 1e6 + "ms";
+    }
+  }
+
+  private Lazy(String name, Supplier<T> supplier) {
+    this.name = name;
+    this.supplier = supplier;
+  }
+
+  public static <T> Lazy<T> of(String name, Supplier<T> supplier) {
+    return new Lazy<>(name, supplier);
+  }
+
+  public static <T> T time(String name, Supplier<T> supplier) {
+    var started = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      var phase = new Phase(name, Duration.ofNanos(System.nanoTime() - started), Thread.currentThread().getName());
+      PHASES.add(phase);
+      if (REPORTED.get())
+        log.info("late init phase {} {} ms", phase.name(), phase.elapsed().toNanos() / 1e6);
+    }
+  }
+
+  public static List<Phase> phases() {
+    return List.copyOf(PHASES);
+  }
+
+  public static void report() {
+    if (REPORTED.compareAndSet(false, true))
+      log.info("init phases {}", phases());
+  }
+
+  @Override
+  public T get() {
+    var current = value;
+    if (current != null)
+      return current;
+
+    lock.lock();
+    try {
+      if (value == null)
+        value = time(name, supplier);
+      return value;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean initialized() {
+    return value != null;
+  }
+
+  public void ifInitialized(Consumer<T> action) {
+    var current = value;
+    if (current != null)
+      action.accept(current);
+  }
+
+  public String name() {
+    return name;
+  }
+}
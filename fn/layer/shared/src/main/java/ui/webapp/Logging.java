@@ -1,14 +1,168 @@
 package ui.webapp;
 
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 public class Logging {
+
+  public enum Setting {
+    LOG_PAYLOAD_SAMPLE_PERCENT,
+    LOG_PAYLOAD_REDACT,
+    LOG_FLUSH_TIMEOUT_MILLIS,
+  }
+
+  public static final String REQUEST_ID = "requestId";
+
   private static final Logger log = LogManager.getLogger(Logging.class);
 
+  private static final TextNode REDACTED = TextNode.valueOf("***");
+
+  private static final String BODY = "body";
+
+  private static final double SAMPLE_RATE = Math.clamp(EnvUtil.number(Setting.LOG_PAYLOAD_SAMPLE_PERCENT, 100), 0, 100) / 100.0;
+
+  private static final Set<String> REDACT = Arrays.stream(EnvUtil.string(Setting.LOG_PAYLOAD_REDACT,
+      "authorization,cookie,x-api-key,username,email,phone,phone_number,password,token,idToken,accessToken,refreshToken,codeParameter").split(","))
+    .map(String::trim)
+    .filter(field -> !field.isEmpty())
+    .map(field -> field.toLowerCase(Locale.ROOT))
+    .collect(Collectors.toUnmodifiableSet());
+
+  private static final long FLUSH_TIMEOUT_NANOS = Duration.ofMillis(EnvUtil.number(Setting.LOG_FLUSH_TIMEOUT_MILLIS, 200)).toNanos();
+
   public Logging() {}
 
   public static Logger handler() {
     return log;
   }
+
+  public static void begin(Context context) {
+    if (context != null)
+      begin(context.getAwsRequestId());
+  }
+
+  public static void begin(String requestId) {
+    if (requestId != null)
+      ThreadContext.put(REQUEST_ID, requestId);
+  }
+
+  public static void end() {
+    flush();
+    clear();
+  }
+
+  public static void clear() {
+    ThreadContext.remove(REQUEST_ID);
+  }
+
+  // runs stages inline on whichever sdk or timer thread completes them, under the request id of the caller
+  public static Executor scoped() {
+    var requestId = ThreadContext.get(REQUEST_ID);
+    if (requestId == null)
+      return Execution.direct();
+
+    return task -> {
+      var previous = ThreadContext.get(REQUEST_ID);
+      ThreadContext.put(REQUEST_ID, requestId);
+      try {
+        task.run();
+      } finally {
+        if (previous == null)
+          ThreadContext.remove(REQUEST_ID);
+        else
+          ThreadContext.put(REQUEST_ID, previous);
+      }
+    };
+  }
+
+  public static void silenced(Runnable action) {
+    var previous = log.getLevel();
+    Configurator.setLevel(log.getName(), Level.OFF);
+    try {
+      action.run();
+    } finally {
+      Configurator.setLevel(log.getName(), previous);
+    }
+  }
+
+  public static void payload(String label, Object payload, ObjectMapper mapper) {
+    if (!log.isDebugEnabled() || payload == null || !sampled())
+      return;
+
+    try {
+      log.debug("{} {}", label, redact(mapper.valueToTree(payload), mapper));
+    } catch (IllegalArgumentException e) {
+      log.debug("{} unavailable {}", label, e.getMessage());
+    }
+  }
+
+  public static void flush() {
+    if (!(LogManager.getContext(false) instanceof LoggerContext context))
+      return;
+
+    var deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+    for (var appender : context.getConfiguration().getAppenders().values()) {
+      if (!(appender instanceof AsyncAppender async))
+        continue;
+
+      while (async.getQueueRemainingCapacity() < async.getQueueCapacity() && System.nanoTime() - deadline < 0)
+        LockSupport.parkNanos(50_000);
+    }
+  }
+
+  private static boolean sampled() {
+    return SAMPLE_RATE >= 1 || SAMPLE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+  }
+
+  static JsonNode redact(JsonNode node, ObjectMapper mapper) {
+    if (node instanceof ObjectNode object) {
+      var fields = object.properties().iterator();
+      while (fields.hasNext()) {
+        var field = fields.next();
+        if (REDACT.contains(field.getKey().toLowerCase(Locale.ROOT)))
+          field.setValue(REDACTED);
+        else if (field.getKey().equals(BODY) && field.getValue().isTextual())
+          field.setValue(body(field.getValue().textValue(), mapper));
+        else
+          redact(field.getValue(), mapper);
+      }
+    } else if (node.isArray()) {
+      node.forEach(element -> redact(element, mapper));
+    }
+
+    return node;
+  }
+
+  // event bodies arrive as strings, a body that is not a json document cannot be redacted field by field
+  private static JsonNode body(String body, ObjectMapper mapper) {
+    if (body.isEmpty())
+      return TextNode.valueOf(body);
+
+    try {
+      var parsed = mapper.readTree(body);
+      return parsed != null && parsed.isContainerNode() ? redact(parsed, mapper) : REDACTED;
+    } catch (JsonProcessingException e) {
+      return REDACTED;
+    }
+  }
 }
@@ -0,0 +1,315 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+public class Metrics {
+
+  public enum Setting {
+    METRICS_NAMESPACE,
+    METRICS_DISABLED,
+  }
+
+  static final int MAX_VALUES = 100;
+
+  private static final String MILLISECONDS = "Milliseconds";
+  private static final String COUNT = "Count";
+  private static final String NAMESPACE = EnvUtil.string(Setting.METRICS_NAMESPACE, "webapp/fn");
+  private static final boolean DISABLED = Boolean.parseBoolean(EnvUtil.string(Setting.METRICS_DISABLED, "false"));
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final AtomicBoolean COLD = new AtomicBoolean(true);
+  private static final String UNSCOPED = "";
+  private static final Map<String, Invocation> INVOCATIONS = new ConcurrentHashMap<>();
+
+  private Metrics() {}
+
+  // opens the collector for the request id on the calling thread, recordings without one go to a shared collector
+  public static void begin() {
+    INVOCATIONS.put(key(), new Invocation());
+  }
+
+  public static <T> CompletableFuture<T> call(String dependency, String operation, Supplier<CompletableFuture<T>> call) {
+    var started = System.nanoTime();
+    var invocation = current();
+    var scope = Logging.scoped();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      invocation.dependency(dependency, operation, System.nanoTime() - started, false);
+      throw e;
+    }
+
+    var recorded = future.whenCompleteAsync((result, e) -> invocation.dependency(dependency, operation, System.nanoTime() - started, e == null), scope);
+    // a losing hedge cancels the returned stage, which still has to abort the sdk call
+    recorded.whenComplete((result, e) -> {
+      if (recorded.isCancelled())
+        future.cancel(true);
+    });
+    return recorded;
+  }
+
+  public static <T> CompletableFuture<T> route(String route, Supplier<CompletableFuture<T>> call, ToIntFunction<T> status) {
+    var started = System.nanoTime();
+    var invocation = current();
+    var scope = Logging.scoped();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      invocation.route(route, 500, System.nanoTime() - started);
+      throw e;
+    }
+
+    return future.whenCompleteAsync((result, e) -> invocation.route(route, result != null ? status.applyAsInt(result) : 500, System.nanoTime() - started), scope);
+  }
+
+  public static void dependency(String dependency, String operation, long nanos, boolean ok) {
+    current().dependency(dependency, operation, nanos, ok);
+  }
+
+  public static void count(String name) {
+    current().counter(name).increment();
+  }
+
+  public static void timing(String name, long nanos) {
+    current().series(name).add(nanos / 1e6);
+  }
+
+  public static void route(String route, int status, long nanos) {
+    current().route(route, status, nanos);
+  }
+
+  public static void emit(String function) {
+    if (DISABLED) {
+      discard();
+      return;
+    }
+
+    var document = document(function);
+    System.out.write(document, 0, document.length);
+    System.out.flush();
+  }
+
+  public static void discard() {
+    take();
+  }
+
+  static byte[] document(String function) {
+    var invocation = take();
+    var cold = COLD.getAndSet(false);
+    var timestamp = System.currentTimeMillis();
+    var requestId = ThreadContext.get(Logging.REQUEST_ID);
+    var gauges = gauges();
+
+    var output = new ByteArrayOutputStream(1024);
+    try {
+      var routes = invocation.routes.isEmpty() ? List.<Map.Entry<String, Route>>of(Map.entry("", new Route())) : List.copyOf(invocation.routes.entrySet());
+      for (var i = 0; i < routes.size(); i++) {
+        try (var json = JSON.createGenerator(output)) {
+          var route = routes.get(i);
+          write(json, function, requestId, timestamp, route.getKey(), route.getValue(), i == 0 ? invocation : null, gauges, cold);
+        }
+        output.write('\n');
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return output.toByteArray();
+  }
+
+  private static void write(
+    JsonGenerator json,
+    String function,
+    String requestId,
+    long timestamp,
+    String routeName,
+    Route route,
+    Invocation invocation,
+    Map<String, Gauge> gauges,
+    boolean cold) throws IOException {
+
+    json.writeStartObject();
+    json.writeObjectFieldStart("_aws");
+    json.writeNumberField("Timestamp", timestamp);
+    json.writeArrayFieldStart("CloudWatchMetrics");
+
+    if (invocation != null) {
+      directive(json, List.of("Function"));
+      definition(json, "ColdStart", COUNT);
+      for (var name : invocation.series.keySet())
+        definition(json, name, MILLISECONDS);
+      for (var name : invocation.counters.keySet())
+        definition(json, name, COUNT);
+      for (var gauge : gauges.entrySet())
+        definition(json, gauge.getKey(), gauge.getValue().unit());
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+
+    if (!routeName.isEmpty()) {
+      directive(json, List.of("Function", "Route"));
+      definition(json, "Latency", MILLISECONDS);
+      definition(json, "Requests", COUNT);
+      definition(json, "ClientErrors", COUNT);
+      definition(json, "ServerErrors", COUNT);
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+
+    json.writeEndArray();
+    json.writeEndObject();
+
+    json.writeStringField("Function", function);
+    if (requestId != null)
+      json.writeStringField("RequestId", requestId);
+
+    if (invocation != null) {
+      json.writeNumberField("ColdStart", cold ? 1 : 0);
+      for (var series : invocation.series.entrySet())
+        series.getValue().write(json, series.getKey());
+      for (var counter : invocation.counters.entrySet())
+        json.writeNumberField(counter.getKey(), counter.getValue().sum());
+      for (var gauge : gauges.entrySet())
+        json.writeNumberField(gauge.getKey(), gauge.getValue().value());
+    }
+
+    if (!routeName.isEmpty()) {
+      json.writeStringField("Route", routeName);
+      route.latency().write(json, "Latency");
+      json.writeNumberField("Requests", route.requests().sum());
+      json.writeNumberField("ClientErrors", route.clientErrors().sum());
+      json.writeNumberField("ServerErrors", route.serverErrors().sum());
+    }
+
+    json.writeEndObject();
+  }
+
+  private static String key() {
+    var requestId = ThreadContext.get(Logging.REQUEST_ID);
+    return requestId == null ? UNSCOPED : requestId;
+  }
+
+  private static Invocation current() {
+    var invocation = INVOCATIONS.get(key());
+    return invocation != null ? invocation : INVOCATIONS.computeIfAbsent(UNSCOPED, ignored -> new Invocation());
+  }
+
+  private static Invocation take() {
+    var invocation = INVOCATIONS.remove(key());
+    if (invocation == null)
+      invocation = INVOCATIONS.remove(UNSCOPED);
+    return invocation != null ? invocation : new Invocation();
+  }
+
+  // breaker state and retry tokens per downstream plus blocking executor depth and waits, sampled when the document is written
+  private static Map<String, Gauge> gauges() {
+    var gauges = new TreeMap<String, Gauge>();
+    Resilience.stats().forEach((downstream, stats) -> {
+      gauges.put(downstream + ".CircuitOpen", new Gauge(stats.circuitBreaker().state() == CircuitBreaker.State.CLOSED ? 0 : 1, COUNT));
+      gauges.put(downstream + ".RetryTokens", new Gauge(stats.retryBudget().tokens(), COUNT));
+    });
+
+    var execution = Execution.stats();
+    gauges.put("Execution.Queued", new Gauge(execution.queued(), COUNT));
+    gauges.put("Execution.Running", new Gauge(execution.running(), COUNT));
+    gauges.put("Execution.MeanWait", new Gauge(execution.meanWait().toNanos() / 1e6, MILLISECONDS));
+    gauges.put("Execution.MaxWait", new Gauge(execution.maxWait().toNanos() / 1e6, MILLISECONDS));
+    gauges.put("Execution.MeanLatency", new Gauge(execution.meanLatency().toNanos() / 1e6, MILLISECONDS));
+    return gauges;
+  }
+
+  private static void directive(JsonGenerator json, List<String> dimensions) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("Namespace", NAMESPACE);
+    json.writeArrayFieldStart("Dimensions");
+    json.writeStartArray();
+    for (var dimension : dimensions)
+      json.writeString(dimension);
+    json.writeEndArray();
+    json.writeEndArray();
+    json.writeArrayFieldStart("Metrics");
+  }
+
+  private static void definition(JsonGenerator json, String name, String unit) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("Name", name);
+    json.writeStringField("Unit", unit);
+    json.writeEndObject();
+  }
+
+  private static class Series {
+    private final double[] values = new double[MAX_VALUES];
+    private int size;
+
+    synchronized void add(double value) {
+      if (size < MAX_VALUES)
+        values[size++] = value;
+    }
+
+    synchronized void write(JsonGenerator json, String name) throws IOException {
+      json.writeArrayFieldStart(name);
+      for (var i = 0; i < size; i++)
+        json.writeNumber(values[i]);
+      json.writeEndArray();
+    }
+  }
+
+  private record Gauge(double value, String unit) {}
+
+  private record Route(Series latency, LongAdder requests, LongAdder clientErrors, LongAdder serverErrors) {
+
+    Route() {
+      this(new Series(), new LongAdder(), new LongAdder(), new LongAdder());
+    }
+  }
+
+  private static class Invocation {
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    Series series(String name) {
+      return series.computeIfAbsent(name, ignored -> new Series());
+    }
+
+    LongAdder counter(String name) {
+      return counters.computeIfAbsent(name, ignored -> new LongAdder());
+    }
+
+    Route route(String name) {
+      return routes.computeIfAbsent(name, ignored -> new Route());
+    }
+
+    void dependency(String dependency, String operation, long nanos, boolean ok) {
+      var name = dependency + "." + operation;
+      series(name + ".Latency").add(nanos / 1e6);
+      counter(name + ".Calls").increment();
+      counter(name + ".Errors").add(ok ? 0 : 1);
+    }
+
+    void route(String name, int status, long nanos) {
+      var metrics = route(name);
+      metrics.latency().add(nanos / 1e6);
+      metrics.requests().increment();
+      metrics.clientErrors().add(status / 100 == 4 ? 1 : 0);
+      metrics.serverErrors().add(status / 100 == 5 ? 1 : 0);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package ui.webapp;
+
+import org.apache.logging.log4j.Logger;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderAsyncClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminDeleteUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserResponse;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import ui.webapp.model.Mfa;
+import ui.webapp.model.Settings;
+import ui.webapp.model.Subscription;
+import ui.webapp.model.User;
+import ui.webapp.model.Verification;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class Priming implements Resource {
+  static final int ITERATIONS = 1000;
+  public static final String USER_ID = "prime";
+
+  private static final List<Priming> REGISTERED = new CopyOnWriteArrayList<>();
+
+  private final Logger log = Logging.handler();
+  private final String name;
+  private final Runnable prime;
+  private final Runnable restore;
+
+  Priming(String name, Runnable prime, Runnable restore) {
+    this.name = name;
+    this.prime = prime;
+    this.restore = restore;
+  }
+
+  public static Priming register(String name, Runnable prime, Runnable restore) {
+    var priming = new Priming(name, prime, restore);
+    REGISTERED.add(priming);
+    Core.getGlobalContext().register(priming);
+    return priming;
+  }
+
+  @Override
+  public void beforeCheckpoint(Context<? extends Resource> context) {
+    var started = System.nanoTime();
+    try {
+      Logging.silenced(() -> Tracing.silenced(() -> {
+        for (var i = 0; i < ITERATIONS; i++)
+          prime.run();
+      }));
+      log.info("primed {} {} times in {} ms", name, ITERATIONS, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    } catch (RuntimeException e) {
+      log.error("error priming {} {}", name, e.getMessage());
+    }
+
+    Metrics.discard();
+  }
+
+  @Override
+  public void afterRestore(Context<? extends Resource> context) {
+    var started = System.nanoTime();
+    try {
+      restore.run();
+      log.info("restored {} in {} ms", name, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    } catch (RuntimeException e) {
+      log.error("error restoring {} {}", name, e.getMessage());
+    }
+  }
+
+  public static User user() {
+    return user(USER_ID);
+  }
+
+  public static User user(String id) {
+    return User.builder()
+      .id(id)
+      .email(id + "@example.com")
+      .phone("+15555550100")
+      .username(id)
+      .settings(Settings.builder()
+        .mfa(Mfa.builder().enabled(false).configured(false).build())
+        .theme("light")
+        .subscription(Subscription.FREE)
+        .build())
+      .verification(Verification.builder()
+        .email(true)
+        .phone(false)
+        .terms(true)
+        .status("CONFIRMED")
+        .build())
+      .updated(Instant.EPOCH.toString())
+      .build();
+  }
+
+  public static DynamoDbAsyncClient dynamoDb() {
+    var item = user().attributeValue();
+
+    return new DynamoDbAsyncClient() {
+      @Override
+      public String serviceName() {
+        return SERVICE_NAME;
+      }
+
+      @Override
+      public void close() {}
+
+      @Override
+      public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+        var found = USER_ID.equals(request.key().get("id").s());
+        return CompletableFuture.completedFuture(found
+          ? GetItemResponse.builder().item(item).build()
+          : GetItemResponse.builder().build());
+      }
+
+      @Override
+      public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+        return CompletableFuture.completedFuture(PutItemResponse.builder().build());
+      }
+
+      @Override
+      public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+        var attributes = new HashMap<>(item);
+        attributes.put("updated", AttributeValue.builder().s(Instant.now().toString()).build());
+        return CompletableFuture.completedFuture(UpdateItemResponse.builder().attributes(attributes).build());
+      }
+
+      @Override
+      public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+        return CompletableFuture.completedFuture(DeleteItemResponse.builder().build());
+      }
+
+      @Override
+      public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+        var responses = new HashMap<String, List<Map<String, AttributeValue>>>();
+        request.requestItems().forEach((table, keys) -> responses.put(table, keys.keys().stream()
+          .filter(key -> USER_ID.equals(key.get("id").s()))
+          .map(key -> item)
+          .toList()));
+        return CompletableFuture.completedFuture(BatchGetItemResponse.builder().responses(responses).build());
+      }
+    };
+  }
+
+  public static CognitoIdentityProviderAsyncClient cognito() {
+    return new CognitoIdentityProviderAsyncClient() {
+      @Override
+      public String serviceName() {
+        return SERVICE_NAME;
+      }
+
+      @Override
+      public void close() {}
+
+      @Override
+      public CompletableFuture<AdminListGroupsForUserResponse> adminListGroupsForUser(AdminListGroupsForUserRequest request) {
+        return CompletableFuture.completedFuture(AdminListGroupsForUserResponse.builder().build());
+      }
+
+      @Override
+      public CompletableFuture<AdminAddUserToGroupResponse> adminAddUserToGroup(AdminAddUserToGroupRequest request) {
+        return CompletableFuture.completedFuture(AdminAddUserToGroupResponse.builder().build());
+      }
+
+      @Override
+      public CompletableFuture<AdminDeleteUserResponse> adminDeleteUser(AdminDeleteUserRequest request) {
+        return CompletableFuture.completedFuture(AdminDeleteUserResponse.builder().build());
+      }
+    };
+  }
+}
@@ -0,0 +1,95 @@
+package ui.webapp;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Resilience implements ExecutionInterceptor {
+  private static final int RETRY_BUDGET_CAPACITY = 10;
+  private static final double RETRY_BUDGET_DEPOSIT = 0.1;
+  private static final int BREAKER_THRESHOLD = 5;
+  private static final Duration BREAKER_OPEN = Duration.ofSeconds(10);
+
+  private static final Map<String, Resilience> DOWNSTREAMS = new ConcurrentHashMap<>();
+
+  private final String downstream;
+  private final RetryBudget retryBudget;
+  private final CircuitBreaker circuitBreaker;
+
+  public record Stats(RetryBudget.Stats retryBudget, CircuitBreaker.Stats circuitBreaker) {}
+
+  private Resilience(String downstream) {
+    this.downstream = downstream;
+    this.retryBudget = new RetryBudget(RETRY_BUDGET_CAPACITY, RETRY_BUDGET_DEPOSIT);
+    this.circuitBreaker = new CircuitBreaker(downstream, BREAKER_THRESHOLD, BREAKER_OPEN);
+  }
+
+  public static Resilience of(String downstream) {
+    return DOWNSTREAMS.computeIfAbsent(downstream, Resilience::new);
+  }
+
+  public static Optional<Duration> rejecting(Collection<String> downstreams) {
+    return downstreams.stream()
+      .map(DOWNSTREAMS::get)
+      .filter(Objects::nonNull)
+      .map(resilience -> resilience.circuitBreaker)
+      .filter(CircuitBreaker::open)
+      .map(CircuitBreaker::retryAfter)
+      .max(Duration::compareTo);
+  }
+
+  public static Map<String, Stats> stats() {
+    var stats = new ConcurrentHashMap<String, Stats>();
+    DOWNSTREAMS.forEach((name, resilience) ->
+      stats.put(name, new Stats(resilience.retryBudget.stats(), resilience.circuitBreaker.stats())));
+    return stats;
+  }
+
+  public ClientOverrideConfiguration override() {
+    return ClientOverrideConfiguration.builder()
+      .retryStrategy(retryBudget)
+      .addExecutionInterceptor(this)
+      .build();
+  }
+
+  @Override
+  public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+    if (!circuitBreaker.allow())
+      throw new CircuitOpenException(downstream);
+  }
+
+  @Override
+  public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+    circuitBreaker.onSuccess();
+  }
+
+  @Override
+  public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+    var failure = context.exception();
+    for (var cause = failure; cause != null; cause = cause.getCause())
+      if (cause instanceof CircuitOpenException)
+        return;
+
+    if (unhealthy(failure))
+      circuitBreaker.onFailure();
+    else
+      circuitBreaker.onSuccess();
+  }
+
+  private static boolean unhealthy(Throwable failure) {
+    if (failure instanceof SdkServiceException service)
+      return service.statusCode() >= 500 || service.isThrottlingException();
+
+    return failure instanceof SdkClientException;
+  }
+}
@@ -0,0 +1,146 @@
+package ui.webapp;
+
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenResponse;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RecordSuccessRequest;
+import software.amazon.awssdk.retries.api.RecordSuccessResponse;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenResponse;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+import java.util.function.Predicate;
+
+public class RetryBudget implements RetryStrategy {
+  private final RetryStrategy delegate;
+  private final Account account;
+
+  public record Stats(double tokens, double capacity, long exhausted) {}
+
+  public RetryBudget(double capacity, double deposit) {
+    this(AwsRetryStrategy.standardRetryStrategy(), capacity, deposit);
+  }
+
+  public RetryBudget(RetryStrategy delegate, double capacity, double deposit) {
+    this(delegate, new Account(capacity, deposit));
+  }
+
+  private RetryBudget(RetryStrategy delegate, Account account) {
+    this.delegate = delegate;
+    this.account = account;
+  }
+
+  @Override
+  public AcquireInitialTokenResponse acquireInitialToken(AcquireInitialTokenRequest request) {
+    return delegate.acquireInitialToken(request);
+  }
+
+  @Override
+  public RefreshRetryTokenResponse refreshRetryToken(RefreshRetryTokenRequest request) {
+    // the delegate rejects non-retryable failures first so they never draw from the budget
+    var response = delegate.refreshRetryToken(request);
+    if (!account.withdraw())
+      throw TokenAcquisitionFailedException.create("retry budget exhausted", request.failure());
+
+    return response;
+  }
+
+  @Override
+  public RecordSuccessResponse recordSuccess(RecordSuccessRequest request) {
+    account.deposit();
+    return delegate.recordSuccess(request);
+  }
+
+  @Override
+  public int maxAttempts() {
+    return delegate.maxAttempts();
+  }
+
+  // strategies rebuilt by the sdk keep drawing from this budget instead of falling back to the bare delegate
+  @Override
+  public BudgetBuilder toBuilder() {
+    return new BudgetBuilder(delegate.toBuilder(), account);
+  }
+
+  public Stats stats() {
+    return account.stats();
+  }
+
+  public static class BudgetBuilder implements RetryStrategy.Builder<BudgetBuilder, RetryBudget> {
+    private final RetryStrategy.Builder<?, ?> delegate;
+    private final Account account;
+
+    private BudgetBuilder(RetryStrategy.Builder<?, ?> delegate, Account account) {
+      this.delegate = delegate;
+      this.account = account;
+    }
+
+    @Override
+    public BudgetBuilder retryOnException(Predicate<Throwable> shouldRetry) {
+      delegate.retryOnException(shouldRetry);
+      return this;
+    }
+
+    @Override
+    public BudgetBuilder maxAttempts(int maxAttempts) {
+      delegate.maxAttempts(maxAttempts);
+      return this;
+    }
+
+    @Override
+    public BudgetBuilder backoffStrategy(BackoffStrategy backoffStrategy) {
+      delegate.backoffStrategy(backoffStrategy);
+      return this;
+    }
+
+    @Override
+    public BudgetBuilder throttlingBackoffStrategy(BackoffStrategy throttlingBackoffStrategy) {
+      delegate.throttlingBackoffStrategy(throttlingBackoffStrategy);
+      return this;
+    }
+
+    @Override
+    public BudgetBuilder treatAsThrottling(Predicate<Throwable> treatAsThrottling) {
+      delegate.treatAsThrottling(treatAsThrottling);
+      return this;
+    }
+
+    @Override
+    public RetryBudget build() {
+      return new RetryBudget(delegate.build(), account);
+    }
+  }
+
+  private static class Account {
+    private final double capacity;
+    private final double deposit;
+    private double tokens;
+    private long exhausted;
+
+    Account(double capacity, double deposit) {
+      this.capacity = capacity;
+      this.deposit = deposit;
+      this.tokens = capacity;
+    }
+
+    synchronized boolean withdraw() {
+      if (tokens < 1) {
+        exhausted++;
+        return false;
+      }
+
+      tokens -= 1;
+      return true;
+    }
+
+    synchronized void deposit() {
+      tokens = Math.min(capacity, tokens + deposit);
+    }
+
+    synchronized Stats stats() {
+      return new Stats(tokens, capacity, exhausted);
+    }
+  }
+}
@@ -1,20 +1,15 @@
 package ui.webapp;
 
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
-import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import ui.webapp.model.SharedJsonModule;
 
 public class SharedDependencyFactory {
 
-  private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
-
-  private static final DynamoDbAsyncClient DYNAMODB_CLIENT = DynamoDbAsyncClient.builder()
-    .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
-    .region(Region.of(System.getenv("AWS_DEFAULT_REGION")))
-    .httpClientBuilder(AwsCrtAsyncHttpClient.builder())
+  private static final JsonMapper OBJECT_MAPPER = JsonMapper.builder()
+    .addModule(new SharedJsonModule())
     .build();
 
   private SharedDependencyFactory() {}
@@ -23,7 +18,13 @@ public class SharedDependencyFactory {
     return OBJECT_MAPPER;
   }
 
+  public static ObjectMapper objectMapper(Module... modules) {
+    return OBJECT_MAPPER.rebuild()
+      .addModules(modules)
+      .build();
+  }
+
   public static DynamoDbAsyncClient dynamoDbAsyncClient() {
-    return DYNAMODB_CLIENT;
+    return ClientRegistry.dynamoDb();
   }
 }
@@ -0,0 +1,107 @@
+package ui.webapp;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+class TailSampler implements SpanProcessor {
+  private static final int MAX_TRACES = 1024;
+
+  private final SpanExporter exporter;
+  private final long slowNanos;
+  private final double ratio;
+  private final Map<String, List<SpanData>> pending = bounded();
+  private final Map<String, Boolean> decided = bounded();
+
+  TailSampler(SpanExporter exporter, Duration slow, double ratio) {
+    this.exporter = exporter;
+    this.slowNanos = slow.toNanos();
+    this.ratio = ratio;
+  }
+
+  @Override
+  public void onStart(Context parent, ReadWriteSpan span) {}
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    var data = span.toSpanData();
+    var traceId = data.getTraceId();
+    var root = !data.getParentSpanContext().isValid() || data.getParentSpanContext().isRemote();
+
+    List<SpanData> trace;
+    synchronized (this) {
+      var decision = decided.get(traceId);
+      if (decision != null) {
+        if (decision)
+          exporter.export(List.of(data));
+        return;
+      }
+
+      trace = pending.computeIfAbsent(traceId, ignored -> new ArrayList<>());
+      trace.add(data);
+      if (!root)
+        return;
+
+      pending.remove(traceId);
+      var keep = keep(data, trace);
+      decided.put(traceId, keep);
+      if (!keep)
+        return;
+    }
+
+    exporter.export(trace);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return exporter.flush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return exporter.shutdown();
+  }
+
+  private boolean keep(SpanData root, List<SpanData> trace) {
+    if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowNanos)
+      return true;
+
+    for (var span : trace) {
+      if (span.getStatus().getStatusCode() == StatusCode.ERROR)
+        return true;
+    }
+
+    return root.getParentSpanContext().isSampled() || ThreadLocalRandom.current().nextDouble() < ratio;
+  }
+
+  private static <V> Map<String, V> bounded() {
+    return new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > MAX_TRACES;
+      }
+    };
+  }
+}
@@ -0,0 +1,202 @@
+package ui.webapp;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class Tracing {
+
+  public enum Setting {
+    TRACING_EXPORTER,
+    TRACING_FILE,
+    TRACING_SAMPLE_PERCENT,
+    TRACING_SLOW_MILLIS,
+  }
+
+  private static final String XRAY_PROPERTY = "com.amazonaws.xray.traceHeader";
+  private static final String XRAY_ENV = "_X_AMZN_TRACE_ID";
+  private static final String XRAY_HEADER = "x-amzn-trace-id";
+
+  private static final TextMapGetter<Map<String, String>> HEADERS = new TextMapGetter<>() {
+    @Override
+    public Iterable<String> keys(Map<String, String> carrier) {
+      return carrier.keySet();
+    }
+
+    @Override
+    public String get(Map<String, String> carrier, String key) {
+      if (carrier == null)
+        return null;
+
+      for (var header : carrier.entrySet()) {
+        if (header.getKey().equalsIgnoreCase(key))
+          return header.getValue();
+      }
+
+      return null;
+    }
+  };
+
+  private static volatile Tracer tracer = tracer(exporter());
+
+  private Tracing() {}
+
+  public static void exporter(SpanExporter exporter) {
+    tracer = tracer(exporter);
+  }
+
+  public static Tracer tracer() {
+    return tracer;
+  }
+
+  // priming spans are slow cold runs the tail sampler would keep, they stay out of the exported traces
+  public static void silenced(Runnable action) {
+    var previous = tracer;
+    tracer = tracer(null);
+    try {
+      action.run();
+    } finally {
+      tracer = previous;
+    }
+  }
+
+  public static ExecutionInterceptor interceptor() {
+    return new TracingInterceptor();
+  }
+
+  public static Span begin(String name, Map<String, String> headers) {
+    return tracer.spanBuilder(name)
+      .setSpanKind(SpanKind.SERVER)
+      .setParent(parent(headers))
+      .startSpan();
+  }
+
+  public static <T> T span(String name, Supplier<T> body) {
+    var span = tracer.spanBuilder(name).startSpan();
+    try (var scope = span.makeCurrent()) {
+      return body.get();
+    } catch (RuntimeException e) {
+      fail(span, e);
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+
+  public static <T> CompletableFuture<T> async(String name, Supplier<CompletableFuture<T>> body) {
+    var span = tracer.spanBuilder(name).startSpan();
+    CompletableFuture<T> future;
+    try (var scope = span.makeCurrent()) {
+      future = body.get();
+    } catch (RuntimeException e) {
+      fail(span, e);
+      span.end();
+      throw e;
+    }
+
+    future.whenComplete((result, e) -> {
+      if (e != null)
+        fail(span, e);
+      span.end();
+    });
+    return future;
+  }
+
+  public static Executor current(Executor executor) {
+    return Context.current().wrap(executor);
+  }
+
+  public static void fail(Span span, Throwable e) {
+    span.recordException(e);
+    span.setStatus(StatusCode.ERROR, String.valueOf(e.getMessage()));
+  }
+
+  static Context parent(Map<String, String> headers) {
+    var traceparent = W3CTraceContextPropagator.getInstance().extract(Context.root(), headers, HEADERS);
+    if (Span.fromContext(traceparent).getSpanContext().isValid())
+      return traceparent;
+
+    return Optional.ofNullable(System.getProperty(XRAY_PROPERTY))
+      .or(() -> Optional.ofNullable(System.getenv(XRAY_ENV)))
+      .or(() -> Optional.ofNullable(HEADERS.get(headers, XRAY_HEADER)))
+      .map(Tracing::xray)
+      .filter(SpanContext::isValid)
+      .map(context -> Context.root().with(Span.wrap(context)))
+      .orElse(Context.root());
+  }
+
+  static SpanContext xray(String header) {
+    String root = null;
+    String parent = null;
+    var sampled = false;
+    for (var part : header.split(";")) {
+      var split = part.indexOf('=');
+      if (split < 0)
+        continue;
+
+      var value = part.substring(split + 1).trim();
+      switch (part.substring(0, split).trim()) {
+        case "Root" -> root = value;
+        case "Parent" -> parent = value;
+        case "Sampled" -> sampled = value.equals("1");
+        default -> {}
+      }
+    }
+
+    if (root == null || parent == null || root.length() != 35 || !root.startsWith("1-"))
+      return SpanContext.getInvalid();
+
+    var traceId = root.substring(2, 10) + root.substring(11);
+    return SpanContext.createFromRemoteParent(traceId, parent, sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(), TraceState.getDefault());
+  }
+
+  private static Tracer tracer(SpanExporter exporter) {
+    if (exporter == null)
+      return io.opentelemetry.api.trace.TracerProvider.noop().get("ui.webapp");
+
+    var provider = SdkTracerProvider.builder()
+      .setResource(Resource.create(Attributes.of(
+        AttributeKey.stringKey("service.name"), Optional.ofNullable(System.getenv("AWS_LAMBDA_FUNCTION_NAME")).orElse("webapp-fn"))))
+      .setSampler(Sampler.alwaysOn())
+      .addSpanProcessor(new TailSampler(
+        exporter,
+        Duration.ofMillis(EnvUtil.number(Setting.TRACING_SLOW_MILLIS, 1000)),
+        Math.clamp(EnvUtil.number(Setting.TRACING_SAMPLE_PERCENT, 5), 0, 100) / 100.0))
+      .build();
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> provider.shutdown().join(2, TimeUnit.SECONDS), "tracing-shutdown"));
+    return provider.get("ui.webapp");
+  }
+
+  private static SpanExporter exporter() {
+    var exporter = EnvUtil.string(Setting.TRACING_EXPORTER, "none");
+    return switch (exporter) {
+      case "none" -> null;
+      case "stdout" -> JsonSpanExporter.stdout();
+      case "file" -> JsonSpanExporter.file(EnvUtil.string(Setting.TRACING_FILE, "/tmp/spans.jsonl"));
+      default -> throw new IllegalStateException(Setting.TRACING_EXPORTER + " must be none, stdout or file, not " + exporter);
+    };
+  }
+}
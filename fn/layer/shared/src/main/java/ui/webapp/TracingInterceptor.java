@@ -0,0 +1,91 @@
+package ui.webapp;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+class TracingInterceptor implements ExecutionInterceptor {
+  private static final ExecutionAttribute<Span> CALL = new ExecutionAttribute<>("ui.webapp.tracing.call");
+  private static final ExecutionAttribute<Span> ATTEMPT = new ExecutionAttribute<>("ui.webapp.tracing.attempt");
+  private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("ui.webapp.tracing.attempts");
+
+  @Override
+  public void beforeExecution(software.amazon.awssdk.core.interceptor.Context.BeforeExecution context, ExecutionAttributes attributes) {
+    var service = attributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+    var operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+    var span = Tracing.tracer().spanBuilder(service + "." + operation)
+      .setSpanKind(SpanKind.CLIENT)
+      .setAttribute("rpc.system", "aws-api")
+      .setAttribute("rpc.service", service)
+      .setAttribute("rpc.method", operation)
+      .startSpan();
+    attributes.putAttribute(CALL, span);
+    attributes.putAttribute(ATTEMPTS, 0);
+  }
+
+  @Override
+  public void beforeTransmission(software.amazon.awssdk.core.interceptor.Context.BeforeTransmission context, ExecutionAttributes attributes) {
+    var call = attributes.getAttribute(CALL);
+    if (call == null)
+      return;
+
+    var previous = attributes.getAttribute(ATTEMPT);
+    if (previous != null && previous.isRecording()) {
+      previous.setStatus(StatusCode.ERROR, "retried");
+      previous.end();
+    }
+
+    var attempt = attributes.getAttribute(ATTEMPTS) + 1;
+    attributes.putAttribute(ATTEMPTS, attempt);
+    attributes.putAttribute(ATTEMPT, Tracing.tracer().spanBuilder("attempt")
+      .setParent(Context.root().with(call))
+      .setSpanKind(SpanKind.CLIENT)
+      .setAttribute("aws.attempt", attempt)
+      .startSpan());
+  }
+
+  @Override
+  public void afterTransmission(software.amazon.awssdk.core.interceptor.Context.AfterTransmission context, ExecutionAttributes attributes) {
+    var attempt = attributes.getAttribute(ATTEMPT);
+    if (attempt == null)
+      return;
+
+    var status = context.httpResponse().statusCode();
+    attempt.setAttribute("http.response.status_code", status);
+    if (status >= 500 || status == 429)
+      attempt.setStatus(StatusCode.ERROR);
+    attempt.end();
+  }
+
+  @Override
+  public void afterExecution(software.amazon.awssdk.core.interceptor.Context.AfterExecution context, ExecutionAttributes attributes) {
+    var call = attributes.getAttribute(CALL);
+    if (call == null)
+      return;
+
+    call.setAttribute("aws.attempts", attributes.getAttribute(ATTEMPTS));
+    call.end();
+  }
+
+  @Override
+  public void onExecutionFailure(software.amazon.awssdk.core.interceptor.Context.FailedExecution context, ExecutionAttributes attributes) {
+    var attempt = attributes.getAttribute(ATTEMPT);
+    if (attempt != null && attempt.isRecording()) {
+      Tracing.fail(attempt, context.exception());
+      attempt.end();
+    }
+
+    var call = attributes.getAttribute(CALL);
+    if (call == null)
+      return;
+
+    call.setAttribute("aws.attempts", attributes.getAttribute(ATTEMPTS));
+    Tracing.fail(call, context.exception());
+    call.end();
+  }
+}
@@ -5,10 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Builder;
 import lombok.SneakyThrows;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.codegen.JsonCodec;
 
 import java.util.Map;
 
 @Builder
+@JsonCodec
 public record Mfa(
   boolean enabled,
   boolean configured
@@ -2,10 +2,12 @@ package ui.webapp.model;
 
 import lombok.Builder;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.codegen.JsonCodec;
 
 import java.util.Map;
 
 @Builder
+@JsonCodec
 public record Settings(
   Mfa mfa,
   String theme,
@@ -2,12 +2,14 @@ package ui.webapp.model;
 
 import lombok.Builder;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import ui.webapp.codegen.JsonCodec;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 
 @Builder
+@JsonCodec
 public record User(
   String id,
   String email,
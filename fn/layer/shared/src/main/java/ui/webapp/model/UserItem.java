@@ -0,0 +1,117 @@
+package ui.webapp.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class UserItem {
+
+  private UserItem() {}
+
+  public static void write(Map<String, AttributeValue> item, JsonGenerator generator) throws IOException {
+    if (item == null || item.isEmpty()) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartObject();
+    string(generator, "id", item.get("id"));
+    string(generator, "email", item.get("email"));
+    string(generator, "phone", item.get("phone"));
+    string(generator, "username", item.get("username"));
+    settings(generator, item.get("settings"));
+    verification(generator, item.get("verification"));
+    string(generator, "updated", item.get("updated"));
+    generator.writeEndObject();
+  }
+
+  public static void write(AttributeValue value, JsonGenerator generator) throws IOException {
+    if (value == null || Boolean.TRUE.equals(value.nul())) {
+      generator.writeNull();
+    } else if (value.s() != null) {
+      generator.writeString(value.s());
+    } else if (value.n() != null) {
+      generator.writeNumber(value.n());
+    } else if (value.bool() != null) {
+      generator.writeBoolean(value.bool());
+    } else if (value.hasM()) {
+      generator.writeStartObject();
+      for (var entry : value.m().entrySet()) {
+        generator.writeFieldName(entry.getKey());
+        write(entry.getValue(), generator);
+      }
+      generator.writeEndObject();
+    } else if (value.hasL()) {
+      generator.writeStartArray();
+      for (var element : value.l())
+        write(element, generator);
+      generator.writeEndArray();
+    } else if (value.hasSs()) {
+      generator.writeStartArray();
+      for (var element : value.ss())
+        generator.writeString(element);
+      generator.writeEndArray();
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  private static void settings(JsonGenerator generator, AttributeValue settings) throws IOException {
+    generator.writeFieldName("settings");
+    if (settings == null || !settings.hasM()) {
+      generator.writeNull();
+      return;
+    }
+
+    var attributes = settings.m();
+    generator.writeStartObject();
+    mfa(generator, attributes.get("mfa"));
+    string(generator, "theme", attributes.get("theme"));
+    string(generator, "subscription", attributes.get("subscription"));
+    generator.writeEndObject();
+  }
+
+  private static void mfa(JsonGenerator generator, AttributeValue mfa) throws IOException {
+    generator.writeFieldName("mfa");
+    if (mfa == null || !mfa.hasM()) {
+      generator.writeNull();
+      return;
+    }
+
+    var attributes = mfa.m();
+    generator.writeStartObject();
+    bool(generator, "enabled", attributes.get("enabled"));
+    bool(generator, "configured", attributes.get("configured"));
+    generator.writeEndObject();
+  }
+
+  private static void verification(JsonGenerator generator, AttributeValue verification) throws IOException {
+    generator.writeFieldName("verification");
+    if (verification == null || !verification.hasM()) {
+      generator.writeNull();
+      return;
+    }
+
+    var attributes = verification.m();
+    generator.writeStartObject();
+    bool(generator, "email", attributes.get("email"));
+    bool(generator, "phone", attributes.get("phone"));
+    bool(generator, "terms", attributes.get("terms"));
+    string(generator, "status", attributes.get("status"));
+    generator.writeEndObject();
+  }
+
+  private static void string(JsonGenerator generator, String name, AttributeValue value) throws IOException {
+    generator.writeFieldName(name);
+    if (value == null || value.s() == null)
+      generator.writeNull();
+    else
+      generator.writeString(value.s());
+  }
+
+  private static void bool(JsonGenerator generator, String name, AttributeValue value) throws IOException {
+    generator.writeBooleanField(name, value != null && Boolean.TRUE.equals(value.bool()));
+  }
+}
@@ -0,0 +1,70 @@
+package ui.webapp;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyRecorderTest {
+  private static final Pattern HISTOGRAM = Pattern.compile("\"histogram\":\"([^\"]+)\"");
+
+  interface Downstream {
+    CompletableFuture<String> getThing(String id);
+
+    String serviceName();
+  }
+
+  @Test
+  void recordsEveryAsyncCallPerOperation() {
+    var downstream = LatencyRecorder.wrap(Downstream.class, new Downstream() {
+      @Override
+      public CompletableFuture<String> getThing(String id) {
+        return CompletableFuture.completedFuture(id);
+      }
+
+      @Override
+      public String serviceName() {
+        return "downstream";
+      }
+    }, "downstream");
+
+    for (var i = 0; i < 500; i++)
+      assertEquals("thing", downstream.getThing("thing").join());
+    assertEquals("downstream", downstream.serviceName());
+
+    var merged = new Histogram(3);
+    var output = new ByteArrayOutputStream();
+    LatencyRecorder.snapshot(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+    var snapshot = output.toString(StandardCharsets.UTF_8);
+    assertTrue(snapshot.contains("\"operation\":\"downstream.GetThing\""), snapshot);
+
+    var line = HISTOGRAM.matcher(snapshot);
+    assertTrue(line.find(), snapshot);
+    var reader = new HistogramLogReader(new ByteArrayInputStream((line.group(1) + "\n").getBytes(StandardCharsets.UTF_8)));
+    for (var histogram = reader.nextIntervalHistogram(); histogram != null; histogram = reader.nextIntervalHistogram())
+      merged.add((Histogram) histogram);
+
+    assertEquals(500, merged.getTotalCount());
+  }
+
+  @Test
+  void skipsOperationsWithoutNewSamples() {
+    LatencyRecorder.snapshot(new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8));
+
+    var output = new ByteArrayOutputStream();
+    LatencyRecorder.snapshot(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+    assertEquals(0, output.size());
+  }
+}
@@ -0,0 +1,102 @@
+package ui.webapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyTest {
+
+  @Test
+  void initializesOnFirstGetOnly() {
+    var calls = new AtomicInteger();
+    var lazy = Lazy.of("lazy-test-once", () -> "value-" + calls.incrementAndGet());
+    var seen = new ArrayList<String>();
+
+    lazy.ifInitialized(seen::add);
+    assertFalse(lazy.initialized());
+    assertEquals(0, calls.get());
+
+    assertEquals("value-1", lazy.get());
+    assertEquals("value-1", lazy.get());
+    lazy.ifInitialized(seen::add);
+
+    assertTrue(lazy.initialized());
+    assertEquals(1, calls.get());
+    assertEquals(List.of("value-1"), seen);
+  }
+
+  @Test
+  void initializesOnceUnderContention() throws Exception {
+    var calls = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    var lazy = Lazy.of("lazy-test-contended", () -> {
+      calls.incrementAndGet();
+      return new Object();
+    });
+
+    try (var executor = Executors.newFixedThreadPool(8)) {
+      var futures = new ArrayList<CompletableFuture<Object>>();
+      for (var i = 0; i < 8; i++)
+        futures.add(CompletableFuture.supplyAsync(() -> {
+          await(start);
+          return lazy.get();
+        }, executor));
+
+      start.countDown();
+      for (var future : futures)
+        assertSame(lazy.get(), future.get());
+    }
+
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void retriesAfterAFailedInitialization() {
+    var calls = new AtomicInteger();
+    var lazy = Lazy.of("lazy-test-retry", () -> {
+      if (calls.incrementAndGet() == 1)
+        throw new IllegalStateException("unavailable");
+      return "value";
+    });
+
+    assertThrows(IllegalStateException.class, lazy::get);
+    assertFalse(lazy.initialized());
+    assertEquals("value", lazy.get());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void recordsAPhaseForEveryTimedInitialization() {
+    Lazy.of("lazy-test-phase", () -> "value").get();
+    assertThrows(IllegalStateException.class, () -> Lazy.time("lazy-test-failed", () -> {
+      throw new IllegalStateException("unavailable");
+    }));
+
+    var phases = Lazy.phases().stream()
+      .filter(phase -> phase.name().startsWith("lazy-test-phase") || phase.name().startsWith("lazy-test-failed"))
+      .toList();
+
+    assertEquals(List.of("lazy-test-phase", "lazy-test-failed"), phases.stream().map(Lazy.Phase::name).toList());
+    assertEquals(Thread.currentThread().getName(), phases.getFirst().thread());
+    assertFalse(phases.getFirst().elapsed().isNegative());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
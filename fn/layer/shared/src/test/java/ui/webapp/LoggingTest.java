@@ -0,0 +1,40 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoggingTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void redactsFieldsInsideJsonBodies() throws IOException {
+    var event = mapper.readTree("""
+      {"headers":{"Authorization":"Bearer abc"},
+       "body":"{\\"username\\":\\"ada\\",\\"email\\":\\"ada@example.com\\",\\"settings\\":{\\"phone\\":\\"+15550100\\"}}"}""");
+
+    assertEquals(mapper.readTree("""
+        {"headers":{"Authorization":"***"},
+         "body":{"username":"***","email":"***","settings":{"phone":"***"}}}"""),
+      Logging.redact(event, mapper));
+  }
+
+  @Test
+  void masksBodiesThatAreNotJsonDocuments() throws IOException {
+    assertEquals(mapper.readTree("""
+        {"body":"***"}"""),
+      Logging.redact(mapper.readTree("""
+        {"body":"email=ada@example.com&phone=5550100"}"""), mapper));
+    assertEquals(mapper.readTree("""
+        {"body":"***"}"""),
+      Logging.redact(mapper.readTree("""
+        {"body":"\\"ada@example.com\\""}"""), mapper));
+    assertEquals(mapper.readTree("""
+        {"body":null}"""),
+      Logging.redact(mapper.readTree("""
+        {"body":null}"""), mapper));
+  }
+}
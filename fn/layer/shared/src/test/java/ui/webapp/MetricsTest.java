@@ -0,0 +1,204 @@
+package ui.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @BeforeEach
+  void reset() {
+    Metrics.discard();
+  }
+
+  @Test
+  void aggregatesAnInvocationIntoOneDocument() throws IOException {
+    Metrics.call("dynamodb", "GetItem", () -> CompletableFuture.completedFuture("found")).join();
+    Metrics.call("dynamodb", "GetItem", () -> CompletableFuture.completedFuture("found")).join();
+    var failed = Metrics.call("cognito-idp", "AdminDeleteUser", () -> CompletableFuture.failedFuture(new IllegalStateException("throttled")));
+    assertTrue(failed.isCompletedExceptionally());
+    Metrics.route("GET /user/{user}", 200, TimeUnit.MILLISECONDS.toNanos(12));
+
+    var documents = documents("user");
+    assertEquals(1, documents.size());
+
+    var document = documents.getFirst();
+    assertEquals("user", document.get("Function").asText());
+    assertEquals("GET /user/{user}", document.get("Route").asText());
+    assertEquals(2, document.get("dynamodb.GetItem.Latency").size());
+    assertEquals(2, document.get("dynamodb.GetItem.Calls").asLong());
+    assertEquals(0, document.get("dynamodb.GetItem.Errors").asLong());
+    assertEquals(1, document.get("cognito-idp.AdminDeleteUser.Errors").asLong());
+    assertEquals(12.0, document.get("Latency").get(0).asDouble(), 0.001);
+    assertEquals(1, document.get("Requests").asLong());
+    assertEquals(0, document.get("ServerErrors").asLong());
+
+    var directives = document.get("_aws").get("CloudWatchMetrics");
+    assertEquals(2, directives.size());
+    for (var directive : directives) {
+      for (var metric : directive.get("Metrics"))
+        assertTrue(document.has(metric.get("Name").asText()), metric.get("Name").asText());
+      for (var dimension : directive.get("Dimensions").get(0))
+        assertTrue(document.has(dimension.asText()), dimension.asText());
+    }
+  }
+
+  @Test
+  void startsEveryInvocationEmpty() throws IOException {
+    Metrics.route("DELETE /user/{user}/unsubscribe", 503, 1);
+    documents("user");
+
+    var document = documents("user").getFirst();
+    assertEquals(0, document.get("ColdStart").asInt());
+    assertFalse(document.has("Route"));
+    assertEquals(1, document.get("_aws").get("CloudWatchMetrics").size());
+  }
+
+  @Test
+  void splitsConcurrentRoutesIntoOneLineEach() throws IOException {
+    Metrics.route("GET /user/{user}", 200, 1);
+    Metrics.route("PUT /user/{user}", 500, 1);
+
+    var documents = documents("user");
+    assertEquals(2, documents.size());
+    assertEquals(1, documents.stream().filter(document -> document.has("ColdStart")).count());
+    assertEquals(1, documents.stream().mapToLong(document -> document.get("ServerErrors").asLong()).sum());
+  }
+
+  @Test
+  void recordsCallsThatFailBeforeReturningAFuture() throws IOException {
+    assertThrows(IllegalArgumentException.class, () -> Metrics.call("dynamodb", "PutItem", () -> {
+      throw new IllegalArgumentException("invalid request");
+    }));
+
+    assertEquals(1, documents("post-confirmation").getFirst().get("dynamodb.PutItem.Errors").asLong());
+  }
+
+  @Test
+  void capsValuesPerMetric() throws IOException {
+    for (var i = 0; i < Metrics.MAX_VALUES * 2; i++)
+      Metrics.dependency("dynamodb", "UpdateItem", 1, true);
+
+    var document = documents("user").getFirst();
+    assertEquals(Metrics.MAX_VALUES, document.get("dynamodb.UpdateItem.Latency").size());
+    assertEquals(Metrics.MAX_VALUES * 2, document.get("dynamodb.UpdateItem.Calls").asLong());
+  }
+
+  @Test
+  void publishesNamedCountersAndTimings() throws IOException {
+    Metrics.count("Hedge.Reads");
+    Metrics.count("Hedge.Reads");
+    Metrics.count("Hedge.Wins");
+    Metrics.timing("Hedge.Threshold", TimeUnit.MILLISECONDS.toNanos(7));
+
+    var document = documents("user").getFirst();
+    assertEquals(2, document.get("Hedge.Reads").asLong());
+    assertEquals(1, document.get("Hedge.Wins").asLong());
+    assertEquals(7.0, document.get("Hedge.Threshold").get(0).asDouble(), 0.001);
+  }
+
+  @Test
+  void publishesBreakerStatePerDownstream() throws IOException {
+    Resilience.of("metrics-test");
+
+    var document = documents("user").getFirst();
+    assertEquals(0, document.get("metrics-test.CircuitOpen").asInt());
+    assertEquals(10, document.get("metrics-test.RetryTokens").asDouble(), 0.001);
+  }
+
+  @Test
+  void publishesBlockingExecutorDepthAndWaits() throws IOException {
+    CompletableFuture.runAsync(() -> {}, Execution.blocking()).join();
+
+    var document = documents("user").getFirst();
+    for (var gauge : List.of("Queued", "Running", "MeanWait", "MaxWait", "MeanLatency"))
+      assertTrue(document.get("Execution." + gauge).isNumber(), gauge);
+    assertTrue(document.toString().contains("{\"Name\":\"Execution.MeanWait\",\"Unit\":\"Milliseconds\"}"), document.toString());
+  }
+
+  @Test
+  void recordsAsyncCallsBeforeDownstreamStagesRun() throws Exception {
+    var source = new CompletableFuture<String>();
+    var downstream = Metrics.call("dynamodb", "GetItem", () -> source)
+      .thenApply(value -> Metrics.document("user"));
+
+    CompletableFuture.runAsync(() -> source.complete("found"));
+
+    var document = parse(downstream.get(5, TimeUnit.SECONDS)).getFirst();
+    assertEquals(1, document.get("dynamodb.GetItem.Calls").asLong());
+    assertEquals(0, document.get("dynamodb.GetItem.Errors").asLong());
+  }
+
+  @Test
+  void keepsConcurrentRequestsApart() throws Exception {
+    var first = new CompletableFuture<String>();
+    var second = new CompletableFuture<String>();
+
+    var firstDocument = request("request-1", () -> Metrics.route("GET /user/{user}",
+      () -> Metrics.call("dynamodb", "GetItem", () -> first), value -> 200)
+      .thenApply(value -> Metrics.document("user")));
+    var secondDocument = request("request-2", () -> Metrics.route("PUT /user/{user}",
+      () -> Metrics.call("dynamodb", "UpdateItem", () -> second), value -> 500)
+      .thenApply(value -> Metrics.document("user")));
+
+    CompletableFuture.runAsync(() -> second.complete("updated")).join();
+    CompletableFuture.runAsync(() -> first.complete("found")).join();
+
+    var read = parse(firstDocument.get(5, TimeUnit.SECONDS)).getFirst();
+    assertEquals("request-1", read.get("RequestId").asText());
+    assertEquals("GET /user/{user}", read.get("Route").asText());
+    assertEquals(1, read.get("dynamodb.GetItem.Calls").asLong());
+    assertFalse(read.has("dynamodb.UpdateItem.Calls"));
+
+    var write = parse(secondDocument.get(5, TimeUnit.SECONDS)).getFirst();
+    assertEquals("request-2", write.get("RequestId").asText());
+    assertEquals(1, write.get("ServerErrors").asLong());
+    assertEquals(1, write.get("dynamodb.UpdateItem.Calls").asLong());
+    assertFalse(write.has("dynamodb.GetItem.Calls"));
+  }
+
+  @Test
+  void cancelsTheCallWhenTheReturnedStageIsCancelled() {
+    var source = new CompletableFuture<String>();
+
+    Metrics.call("dynamodb", "GetItem", () -> source).cancel(true);
+
+    assertTrue(source.isCancelled());
+  }
+
+  private static <T> T request(String requestId, Supplier<T> body) {
+    Logging.begin(requestId);
+    Metrics.begin();
+    try {
+      return body.get();
+    } finally {
+      Logging.clear();
+    }
+  }
+
+  private List<JsonNode> documents(String function) throws IOException {
+    return parse(Metrics.document(function));
+  }
+
+  private List<JsonNode> parse(byte[] document) throws IOException {
+    var documents = new ArrayList<JsonNode>();
+    for (var line : new String(document, StandardCharsets.UTF_8).split("\n"))
+      documents.add(mapper.readTree(line));
+    return documents;
+  }
+}
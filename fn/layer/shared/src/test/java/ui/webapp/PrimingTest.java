@@ -0,0 +1,87 @@
+package ui.webapp;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import ui.webapp.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimingTest {
+
+  @Test
+  void runsHooksWithoutACracRuntime() {
+    var primed = new AtomicInteger();
+    var restored = new AtomicInteger();
+    var priming = Priming.register("test", primed::incrementAndGet, restored::incrementAndGet);
+
+    priming.beforeCheckpoint(null);
+    priming.afterRestore(null);
+
+    assertEquals(Priming.ITERATIONS, primed.get());
+    assertEquals(1, restored.get());
+  }
+
+  @Test
+  void silencesHandlerLoggingWhilePriming() {
+    var enabled = new AtomicInteger();
+    var priming = new Priming("quiet", () -> {
+      if (Logging.handler().isInfoEnabled())
+        enabled.incrementAndGet();
+    }, () -> {});
+
+    priming.beforeCheckpoint(null);
+
+    assertEquals(0, enabled.get());
+    assertTrue(Logging.handler().isErrorEnabled());
+  }
+
+  @Test
+  void silencesTracingWhilePriming() {
+    var sampled = new AtomicInteger();
+    var priming = new Priming("untraced", () -> {
+      if (Tracing.tracer().spanBuilder("prime").startSpan().getSpanContext().isValid())
+        sampled.incrementAndGet();
+    }, () -> {});
+
+    Tracing.exporter(new JsonSpanExporter(new ByteArrayOutputStream()));
+    try {
+      priming.beforeCheckpoint(null);
+      assertTrue(Tracing.tracer().spanBuilder("after").startSpan().getSpanContext().isValid());
+    } finally {
+      Tracing.exporter(null);
+    }
+
+    assertEquals(0, sampled.get());
+  }
+
+  @Test
+  void keepsFailuresOutOfTheCheckpoint() {
+    var priming = new Priming("failing", () -> { throw new IllegalStateException("prime"); }, () -> { throw new IllegalStateException("restore"); });
+
+    assertDoesNotThrow(() -> priming.beforeCheckpoint(null));
+    assertDoesNotThrow(() -> priming.afterRestore(null));
+  }
+
+  @Test
+  void stubsAnswerFromTheSampleUser() {
+    var dynamoDb = Priming.dynamoDb();
+
+    var found = dynamoDb.getItem(GetItemRequest.builder()
+      .key(Map.of("id", AttributeValue.builder().s(Priming.USER_ID).build()))
+      .build()).join();
+    var missing = dynamoDb.getItem(GetItemRequest.builder()
+      .key(Map.of("id", AttributeValue.builder().s("missing").build()))
+      .build()).join();
+
+    assertEquals(Priming.user().username(), User.from(found.item()).username());
+    assertFalse(missing.hasItem());
+  }
+}
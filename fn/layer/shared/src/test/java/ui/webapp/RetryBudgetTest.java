@@ -0,0 +1,47 @@
+package ui.webapp;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.retries.api.AcquireInitialTokenRequest;
+import software.amazon.awssdk.retries.api.RefreshRetryTokenRequest;
+import software.amazon.awssdk.retries.api.TokenAcquisitionFailedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RetryBudgetTest {
+
+  @Test
+  void leavesTheBalanceAloneForNonRetryableFailures() {
+    var budget = new RetryBudget(2, 0.1);
+
+    assertThrows(TokenAcquisitionFailedException.class, () -> refresh(budget, failure(400, "ValidationException")));
+    assertThrows(TokenAcquisitionFailedException.class, () -> refresh(budget, failure(400, "ConditionalCheckFailedException")));
+
+    assertEquals(new RetryBudget.Stats(2, 2, 0), budget.stats());
+  }
+
+  @Test
+  void withdrawsForGrantedRetriesUntilExhausted() {
+    var budget = new RetryBudget(1, 0.1);
+
+    refresh(budget, failure(503, "ServiceUnavailable"));
+    var exhausted = assertThrows(TokenAcquisitionFailedException.class, () -> refresh(budget, failure(503, "ServiceUnavailable")));
+
+    assertEquals("retry budget exhausted", exhausted.getMessage());
+    assertEquals(new RetryBudget.Stats(0, 1, 1), budget.stats());
+  }
+
+  private static void refresh(RetryBudget budget, Throwable failure) {
+    var token = budget.acquireInitialToken(AcquireInitialTokenRequest.create("test")).token();
+    budget.refreshRetryToken(RefreshRetryTokenRequest.builder().token(token).failure(failure).build());
+  }
+
+  private static AwsServiceException failure(int status, String code) {
+    return AwsServiceException.builder()
+      .statusCode(status)
+      .awsErrorDetails(AwsErrorDetails.builder().errorCode(code).build())
+      .build();
+  }
+}
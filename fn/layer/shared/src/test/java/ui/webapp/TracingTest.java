@@ -0,0 +1,101 @@
+package ui.webapp;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracingTest {
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+  private SdkTracerProvider provider;
+  private Tracer tracer;
+
+  @BeforeEach
+  void setUp() {
+    provider = SdkTracerProvider.builder()
+      .addSpanProcessor(new TailSampler(new JsonSpanExporter(output), Duration.ofMillis(500), 0))
+      .build();
+    tracer = provider.get("test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.shutdown();
+  }
+
+  @Test
+  void parsesTheXrayTraceHeader() {
+    var context = Tracing.xray("Root=1-5759e988-bd862e3fe1be46a994272793;Parent=53995c3f42cd8ad8;Sampled=1");
+
+    assertTrue(context.isValid());
+    assertTrue(context.isRemote());
+    assertTrue(context.isSampled());
+    assertEquals("5759e988bd862e3fe1be46a994272793", context.getTraceId());
+    assertEquals("53995c3f42cd8ad8", context.getSpanId());
+    assertFalse(Tracing.xray("Root=1-5759e988;Sampled=1").isValid());
+  }
+
+  @Test
+  void prefersTheW3cTraceparentHeader() {
+    var parent = Span.fromContext(Tracing.parent(Map.of(
+      "Traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01",
+      "X-Amzn-Trace-Id", "Root=1-5759e988-bd862e3fe1be46a994272793;Parent=53995c3f42cd8ad8;Sampled=1")));
+
+    assertEquals("0af7651916cd43dd8448eb211c80319c", parent.getSpanContext().getTraceId());
+  }
+
+  @Test
+  void dropsFastTracesWithoutErrors() {
+    var root = tracer.spanBuilder("user").startSpan();
+    tracer.spanBuilder("dynamodb.GetItem").setParent(Context.root().with(root)).startSpan().end();
+    root.end();
+
+    assertEquals(0, output.size());
+  }
+
+  @Test
+  void keepsEverySlowTrace() {
+    var root = tracer.spanBuilder("user").setStartTimestamp(Instant.now().minusSeconds(2)).startSpan();
+    tracer.spanBuilder("dynamodb.GetItem").setParent(Context.root().with(root)).startSpan().end();
+    root.end();
+
+    var spans = spans();
+    assertEquals(2, spans.length);
+    assertTrue(spans[1].contains("\"name\":\"user\""), spans[1]);
+  }
+
+  @Test
+  void keepsTracesWithAFailedSpanAndItsLateChildren() {
+    var root = tracer.spanBuilder("user").startSpan();
+    var parent = Context.root().with(root);
+    tracer.spanBuilder("cognito-idp.AdminDeleteUser").setParent(parent).startSpan()
+      .setStatus(StatusCode.ERROR, "throttled")
+      .end();
+    var late = tracer.spanBuilder("dynamodb.DeleteItem").setParent(parent).startSpan();
+    root.end();
+    late.end();
+
+    var spans = spans();
+    assertEquals(3, spans.length);
+    assertTrue(spans[0].contains("\"status\":\"ERROR\""), spans[0]);
+    assertTrue(spans[2].contains("\"name\":\"dynamodb.DeleteItem\""), spans[2]);
+  }
+
+  private String[] spans() {
+    return output.toString(StandardCharsets.UTF_8).strip().split("\n");
+  }
+}
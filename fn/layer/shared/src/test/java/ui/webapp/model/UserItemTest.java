@@ -0,0 +1,57 @@
+package ui.webapp.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class UserItemTest {
+  private final ObjectMapper mapper = JsonMapper.builder().build();
+
+  @Test
+  void writesTheSameBytesAsTheRecordPath() throws IOException {
+    var item = new User(
+      "3f1c",
+      "someone@example.com",
+      "+15555550100",
+      "some \"one\"\n",
+      new Settings(new Mfa(true, false), "dark", Subscription.STARTUP),
+      new Verification(true, false, true, "CONFIRMED"),
+      null).attributeValue();
+
+    assertArrayEquals(mapper.writeValueAsBytes(User.from(item)), codec(item));
+  }
+
+  @Test
+  void writesNullForAMissingPhone() throws IOException {
+    var item = new User(
+      "3f1c",
+      "someone@example.com",
+      null,
+      "someone",
+      new Settings(new Mfa(false, false), "light", Subscription.FREE),
+      new Verification(true, false, true, "CONFIRMED"),
+      null).attributeValue();
+
+    assertArrayEquals(mapper.writeValueAsBytes(User.from(item)), codec(item));
+  }
+
+  @Test
+  void writesNullForAMissingItem() throws IOException {
+    assertArrayEquals(mapper.writeValueAsBytes(User.from(Map.of())), codec(Map.of()));
+  }
+
+  private byte[] codec(Map<String, AttributeValue> item) throws IOException {
+    var output = new ByteArrayOutputStream();
+    try (var generator = mapper.getFactory().createGenerator(output)) {
+      UserItem.write(item, generator);
+    }
+    return output.toByteArray();
+  }
+}